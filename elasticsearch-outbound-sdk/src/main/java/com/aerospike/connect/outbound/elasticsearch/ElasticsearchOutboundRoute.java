@@ -22,11 +22,47 @@ import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import lombok.NonNull;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Outbound route to an Elasticsearch index.
  */
 public class ElasticsearchOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The maximum number of canonical routes.
+     */
+    private static final int MAX_ROUTES = 10_000;
+
+    /**
+     * The canonical routes.
+     */
+    private static final ConcurrentMap<String, ElasticsearchOutboundRoute>
+            routes = new ConcurrentHashMap<>();
+
     public ElasticsearchOutboundRoute(@NonNull String route) {
         super(OutboundRouteType.INDEX, route);
     }
+
+    /**
+     * Get the canonical route to an Elasticsearch index. Prefer this method
+     * over creating a new route for every record. Since index names may be
+     * derived from record contents, the number of canonical routes is bounded;
+     * routes beyond the bound are created on every call.
+     *
+     * @param route the Elasticsearch index.
+     * @return the canonical route.
+     */
+    public static ElasticsearchOutboundRoute of(@NonNull String route) {
+        ElasticsearchOutboundRoute outboundRoute = routes.get(route);
+        if (outboundRoute != null) {
+            return outboundRoute;
+        }
+
+        if (routes.size() >= MAX_ROUTES) {
+            return new ElasticsearchOutboundRoute(route);
+        }
+
+        return routes.computeIfAbsent(route, ElasticsearchOutboundRoute::new);
+    }
 }
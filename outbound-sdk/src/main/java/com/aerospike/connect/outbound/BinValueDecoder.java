@@ -0,0 +1,63 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes a single bin value from the raw Aerospike XDR message buffer backing
+ * a {@link LazyBinMap}.
+ *
+ * <p>
+ * The decoded value should follow the same conventions as the bin values of a
+ * fully materialized {@link ChangeNotificationRecord#getBins()} map, e.g. blob
+ * types are decoded as {@link com.aerospike.client.Value.BytesValue
+ * BytesValue} and GeoJSON as {@link com.aerospike.client.Value.GeoJSONValue
+ * GeoJSONValue}.
+ */
+@FunctionalInterface
+public interface BinValueDecoder {
+    /**
+     * Decode a bin value.
+     *
+     * <p>
+     * Implementations should use absolute reads on the {@code buffer} and must
+     * not change its position, limit or contents, the same buffer is shared by
+     * all the bins of the record.
+     *
+     * <p>
+     * Since bins are decoded on first access, a failure to decode is reported
+     * to the code reading the bin. When an exception is thrown while a
+     * {@link com.aerospike.connect.outbound.routing.Router Router}, {@link
+     * com.aerospike.connect.outbound.transformer.Transformer Transformer} or
+     * {@link com.aerospike.connect.outbound.format.Formatter Formatter} is
+     * reading the bin, the record is acknowledged with temporary error to
+     * Aerospike XDR change notification.
+     *
+     * @param particleType the particle type of the bin value.
+     * @param buffer       the raw message buffer.
+     * @param offset       the offset of the encoded bin value in the buffer.
+     * @param length       the length of the encoded bin value in bytes.
+     * @return the decoded bin value.
+     */
+    Object decode(@NonNull ParticleType particleType,
+                  @NonNull ByteBuffer buffer, int offset, int length);
+}
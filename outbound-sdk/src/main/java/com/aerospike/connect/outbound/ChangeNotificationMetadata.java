@@ -22,18 +22,39 @@ import com.aerospike.client.Key;
 import com.aerospike.client.policy.GenerationPolicy;
 import com.aerospike.client.policy.RecordExistsAction;
 import jakarta.annotation.Nullable;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
 
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
  * Metadata of the change notification record.
+ *
+ * <p>
+ * Metadata is immutable. To change a field use one of the {@code with}
+ * methods like {@link #withGeneration} or {@link #withExpiryTime}, which share
+ * the unchanged fields with this instance; or {@link #toBuilder()} to change
+ * several fields at once
+ * <pre>
+ * ChangeNotificationMetadata metadata = record.getMetadata()
+ *         .toBuilder()
+ *         .generation(2)
+ *         .expiryTime(-1)
+ *         .build();
+ * </pre>
+ *
+ * <p>
+ * The optional numeric fields are stored as primitives. Code reading them for
+ * every record should prefer the primitive accessors like {@link
+ * #hasGeneration()} and {@link #generationAsInt()}, or {@link
+ * #lastUpdateTimeMsOr(long)}, which do not allocate; over the {@link Optional}
+ * returning getters.
  */
-@AllArgsConstructor
 @EqualsAndHashCode
 @Getter
 @ToString
@@ -42,6 +63,7 @@ public class ChangeNotificationMetadata {
      * @return The Key of the changed record.
      */
     @NonNull
+    @ToString.Include(rank = 2)
     private final Key key;
 
     /**
@@ -49,31 +71,46 @@ public class ChangeNotificationMetadata {
      * XDR.
      */
     @NonNull
+    @ToString.Include(rank = 2)
     private final AerospikeOperation operation;
 
     /**
      * Record modification count. It is not shipped by Aerospike XDR versions
-     * before v5.0.0, and will be <code>null</code> in these cases.
+     * before v5.0.0, and {@link #generationPresent} will be <code>false</code>
+     * in these cases.
      */
-    @Nullable
-    private final Integer generation;
+    @ToString.Exclude
+    private final int generation;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final boolean generationPresent;
 
     /**
      * Last update time of the record, measured in milliseconds since the Unix
      * epoch. It is not shipped by Aerospike XDR versions before v5.0.0, and
-     * will be <code>null</code> in these cases.
+     * {@link #lastUpdateTimeMsPresent} will be <code>false</code> in these
+     * cases.
      */
-    @Nullable
-    private final Long lastUpdateTimeMs;
+    @ToString.Exclude
+    private final long lastUpdateTimeMs;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final boolean lastUpdateTimeMsPresent;
 
     /**
      * The expiry time of the record, measured in seconds since the Unix epoch.
-     * It is shipped by Aerospike XDR only for write operations, and will be
-     * <code>null</code> for delete operations. The value will be
-     * <code>-1</code> if the record never expires.
+     * It is shipped by Aerospike XDR only for write operations, and {@link
+     * #expiryTimePresent} will be <code>false</code> for delete operations.
+     * The value will be <code>-1</code> if the record never expires.
      */
-    @Nullable
-    private final Integer expiryTime;
+    @ToString.Exclude
+    private final int expiryTime;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final boolean expiryTimePresent;
 
     /**
      * @return The record exists action shipped by XDR.
@@ -87,6 +124,46 @@ public class ChangeNotificationMetadata {
     @NonNull
     private final GenerationPolicy generationPolicy;
 
+    @Builder(toBuilder = true)
+    public ChangeNotificationMetadata(
+            @NonNull Key key,
+            @NonNull AerospikeOperation operation,
+            @Builder.ObtainVia(method = "getGenerationOrNull")
+            @Nullable Integer generation,
+            @Builder.ObtainVia(method = "getLastUpdateTimeMsOrNull")
+            @Nullable Long lastUpdateTimeMs,
+            @Builder.ObtainVia(method = "getExpiryTimeOrNull")
+            @Nullable Integer expiryTime,
+            @NonNull RecordExistsAction recordExistsAction,
+            @NonNull GenerationPolicy generationPolicy) {
+        this(key, operation,
+                generation != null ? generation : 0, generation != null,
+                lastUpdateTimeMs != null ? lastUpdateTimeMs : 0,
+                lastUpdateTimeMs != null,
+                expiryTime != null ? expiryTime : 0, expiryTime != null,
+                recordExistsAction, generationPolicy);
+    }
+
+    private ChangeNotificationMetadata(
+            @NonNull Key key,
+            @NonNull AerospikeOperation operation,
+            int generation, boolean generationPresent,
+            long lastUpdateTimeMs, boolean lastUpdateTimeMsPresent,
+            int expiryTime, boolean expiryTimePresent,
+            @NonNull RecordExistsAction recordExistsAction,
+            @NonNull GenerationPolicy generationPolicy) {
+        this.key = key;
+        this.operation = operation;
+        this.generation = generation;
+        this.generationPresent = generationPresent;
+        this.lastUpdateTimeMs = lastUpdateTimeMs;
+        this.lastUpdateTimeMsPresent = lastUpdateTimeMsPresent;
+        this.expiryTime = expiryTime;
+        this.expiryTimePresent = expiryTimePresent;
+        this.recordExistsAction = recordExistsAction;
+        this.generationPolicy = generationPolicy;
+    }
+
     /**
      * Get the generation of the record. It is not shipped by Aerospike XDR
      * versions before v5.0.0, and will be <code>null</code> in these cases.
@@ -94,7 +171,42 @@ public class ChangeNotificationMetadata {
      * @return the generation of the record.
      */
     public Optional<Integer> getGeneration() {
-        return Optional.ofNullable(generation);
+        return Optional.ofNullable(getGenerationOrNull());
+    }
+
+    /**
+     * Check if the generation of the record is present. It is not shipped by
+     * Aerospike XDR versions before v5.0.0.
+     *
+     * @return true iff the generation is present.
+     */
+    public boolean hasGeneration() {
+        return generationPresent;
+    }
+
+    /**
+     * Get the generation of the record without allocating.
+     *
+     * @return the generation of the record.
+     * @throws NoSuchElementException if the generation is not present.
+     */
+    public int generationAsInt() {
+        if (!generationPresent) {
+            throw new NoSuchElementException("generation not present");
+        }
+        return generation;
+    }
+
+    /**
+     * Get the generation of the record without allocating.
+     *
+     * @param defaultValue the value to return if the generation is not
+     *                     present.
+     * @return the generation of the record if present, else {@code
+     * defaultValue}.
+     */
+    public int generationOr(int defaultValue) {
+        return generationPresent ? generation : defaultValue;
     }
 
     /**
@@ -105,7 +217,44 @@ public class ChangeNotificationMetadata {
      * @return the last update time of the record.
      */
     public Optional<Long> getLastUpdateTimeMs() {
-        return Optional.ofNullable(lastUpdateTimeMs);
+        return Optional.ofNullable(getLastUpdateTimeMsOrNull());
+    }
+
+    /**
+     * Check if the last update time of the record is present. It is not
+     * shipped by Aerospike XDR versions before v5.0.0.
+     *
+     * @return true iff the last update time is present.
+     */
+    public boolean hasLastUpdateTimeMs() {
+        return lastUpdateTimeMsPresent;
+    }
+
+    /**
+     * Get the last update time of the record, measured in milliseconds since
+     * the Unix epoch, without allocating.
+     *
+     * @return the last update time of the record.
+     * @throws NoSuchElementException if the last update time is not present.
+     */
+    public long lastUpdateTimeMsAsLong() {
+        if (!lastUpdateTimeMsPresent) {
+            throw new NoSuchElementException("last update time not present");
+        }
+        return lastUpdateTimeMs;
+    }
+
+    /**
+     * Get the last update time of the record, measured in milliseconds since
+     * the Unix epoch, without allocating.
+     *
+     * @param defaultValue the value to return if the last update time is not
+     *                     present.
+     * @return the last update time of the record if present, else {@code
+     * defaultValue}.
+     */
+    public long lastUpdateTimeMsOr(long defaultValue) {
+        return lastUpdateTimeMsPresent ? lastUpdateTimeMs : defaultValue;
     }
 
     /**
@@ -117,7 +266,44 @@ public class ChangeNotificationMetadata {
      * @return the expiry time of the record.
      */
     public Optional<Integer> getExpiryTime() {
-        return Optional.ofNullable(expiryTime);
+        return Optional.ofNullable(getExpiryTimeOrNull());
+    }
+
+    /**
+     * Check if the expiry time of the record is present. It is shipped by
+     * Aerospike XDR only for write operations.
+     *
+     * @return true iff the expiry time is present.
+     */
+    public boolean hasExpiryTime() {
+        return expiryTimePresent;
+    }
+
+    /**
+     * Get the expiry time of the record, measured in seconds since the Unix
+     * epoch, without allocating.
+     *
+     * @return the expiry time of the record.
+     * @throws NoSuchElementException if the expiry time is not present.
+     */
+    public int expiryTimeAsInt() {
+        if (!expiryTimePresent) {
+            throw new NoSuchElementException("expiry time not present");
+        }
+        return expiryTime;
+    }
+
+    /**
+     * Get the expiry time of the record, measured in seconds since the Unix
+     * epoch, without allocating.
+     *
+     * @param defaultValue the value to return if the expiry time is not
+     *                     present.
+     * @return the expiry time of the record if present, else {@code
+     * defaultValue}.
+     */
+    public int expiryTimeOr(int defaultValue) {
+        return expiryTimePresent ? expiryTime : defaultValue;
     }
 
     /**
@@ -131,20 +317,238 @@ public class ChangeNotificationMetadata {
      * now.
      */
     public Optional<Integer> getTimeToLive() {
-        if (expiryTime == null) {
+        if (!expiryTimePresent) {
             return Optional.empty();
         }
 
+        return Optional.of(timeToLive());
+    }
+
+    /**
+     * Convert record expiration to time-to-live (seconds from now) without
+     * allocating. The value will be <code>0</code> if the record has already
+     * expired and <code>-1</code> if the record never expires.
+     *
+     * @param defaultValue the value to return if the expiry time is not
+     *                     present.
+     * @return the time-to-live (ttl) of the record, measured in seconds from
+     * now, if the expiry time is present, else {@code defaultValue}.
+     */
+    public int timeToLiveOr(int defaultValue) {
+        return expiryTimePresent ? timeToLive() : defaultValue;
+    }
+
+    /**
+     * Get a copy of this metadata with a different key.
+     *
+     * @param key the key of the changed record.
+     * @return this instance if the key is unchanged, a copy with the key
+     * otherwise.
+     */
+    public ChangeNotificationMetadata withKey(@NonNull Key key) {
+        return this.key == key ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, expiryTime, expiryTimePresent,
+                        recordExistsAction, generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different operation.
+     *
+     * @param operation the operation on the record.
+     * @return this instance if the operation is unchanged, a copy with the
+     * operation otherwise.
+     */
+    public ChangeNotificationMetadata withOperation(
+            @NonNull AerospikeOperation operation) {
+        return this.operation == operation ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, expiryTime, expiryTimePresent,
+                        recordExistsAction, generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different generation.
+     *
+     * @param generation the generation of the record, <code>null</code> if not
+     *                   present.
+     * @return this instance if the generation is unchanged, a copy with the
+     * generation otherwise.
+     */
+    public ChangeNotificationMetadata withGeneration(
+            @Nullable Integer generation) {
+        if (generation != null) {
+            return withGeneration(generation.intValue());
+        }
+
+        return !generationPresent ? this :
+                new ChangeNotificationMetadata(key, operation, 0, false,
+                        lastUpdateTimeMs, lastUpdateTimeMsPresent, expiryTime,
+                        expiryTimePresent, recordExistsAction,
+                        generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different generation, without boxing
+     * the generation.
+     *
+     * @param generation the generation of the record.
+     * @return this instance if the generation is unchanged, a copy with the
+     * generation otherwise.
+     */
+    public ChangeNotificationMetadata withGeneration(int generation) {
+        return generationPresent && this.generation == generation ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        true, lastUpdateTimeMs, lastUpdateTimeMsPresent,
+                        expiryTime, expiryTimePresent, recordExistsAction,
+                        generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different last update time.
+     *
+     * @param lastUpdateTimeMs the last update time of the record, measured in
+     *                         milliseconds since the Unix epoch;
+     *                         <code>null</code> if not present.
+     * @return this instance if the last update time is unchanged, a copy with
+     * the last update time otherwise.
+     */
+    public ChangeNotificationMetadata withLastUpdateTimeMs(
+            @Nullable Long lastUpdateTimeMs) {
+        if (lastUpdateTimeMs != null) {
+            return withLastUpdateTimeMs(lastUpdateTimeMs.longValue());
+        }
+
+        return !lastUpdateTimeMsPresent ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, 0, false, expiryTime,
+                        expiryTimePresent, recordExistsAction,
+                        generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different last update time, without
+     * boxing the last update time.
+     *
+     * @param lastUpdateTimeMs the last update time of the record, measured in
+     *                         milliseconds since the Unix epoch.
+     * @return this instance if the last update time is unchanged, a copy with
+     * the last update time otherwise.
+     */
+    public ChangeNotificationMetadata withLastUpdateTimeMs(
+            long lastUpdateTimeMs) {
+        return lastUpdateTimeMsPresent &&
+                this.lastUpdateTimeMs == lastUpdateTimeMs ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs, true, expiryTime,
+                        expiryTimePresent, recordExistsAction,
+                        generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different expiry time.
+     *
+     * @param expiryTime the expiry time of the record, measured in seconds
+     *                   since the Unix epoch; <code>null</code> if not
+     *                   present.
+     * @return this instance if the expiry time is unchanged, a copy with the
+     * expiry time otherwise.
+     */
+    public ChangeNotificationMetadata withExpiryTime(
+            @Nullable Integer expiryTime) {
+        if (expiryTime != null) {
+            return withExpiryTime(expiryTime.intValue());
+        }
+
+        return !expiryTimePresent ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, 0, false, recordExistsAction,
+                        generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different expiry time, without boxing
+     * the expiry time.
+     *
+     * @param expiryTime the expiry time of the record, measured in seconds
+     *                   since the Unix epoch.
+     * @return this instance if the expiry time is unchanged, a copy with the
+     * expiry time otherwise.
+     */
+    public ChangeNotificationMetadata withExpiryTime(int expiryTime) {
+        return expiryTimePresent && this.expiryTime == expiryTime ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, expiryTime, true,
+                        recordExistsAction, generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different record exists action.
+     *
+     * @param recordExistsAction the record exists action.
+     * @return this instance if the record exists action is unchanged, a copy
+     * with the record exists action otherwise.
+     */
+    public ChangeNotificationMetadata withRecordExistsAction(
+            @NonNull RecordExistsAction recordExistsAction) {
+        return this.recordExistsAction == recordExistsAction ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, expiryTime, expiryTimePresent,
+                        recordExistsAction, generationPolicy);
+    }
+
+    /**
+     * Get a copy of this metadata with a different generation policy.
+     *
+     * @param generationPolicy the generation policy.
+     * @return this instance if the generation policy is unchanged, a copy with
+     * the generation policy otherwise.
+     */
+    public ChangeNotificationMetadata withGenerationPolicy(
+            @NonNull GenerationPolicy generationPolicy) {
+        return this.generationPolicy == generationPolicy ? this :
+                new ChangeNotificationMetadata(key, operation, generation,
+                        generationPresent, lastUpdateTimeMs,
+                        lastUpdateTimeMsPresent, expiryTime, expiryTimePresent,
+                        recordExistsAction, generationPolicy);
+    }
+
+    // The ranks keep the toString() order of the fields: key, operation,
+    // generation, last update time, expiry time and the XDR policies.
+    @Nullable
+    @ToString.Include(name = "generation", rank = 1)
+    private Integer getGenerationOrNull() {
+        return generationPresent ? generation : null;
+    }
+
+    @Nullable
+    @ToString.Include(name = "lastUpdateTimeMs", rank = 1)
+    private Long getLastUpdateTimeMsOrNull() {
+        return lastUpdateTimeMsPresent ? lastUpdateTimeMs : null;
+    }
+
+    @Nullable
+    @ToString.Include(name = "expiryTime", rank = 1)
+    private Integer getExpiryTimeOrNull() {
+        return expiryTimePresent ? expiryTime : null;
+    }
+
+    private int timeToLive() {
         // Expiry is measured in seconds since Unix epoch.
         if (expiryTime == 0) { // record never expires
-            return Optional.of(-1);
+            return -1;
         }
 
         int now = (int) (System.currentTimeMillis() / 1000);
         if (expiryTime > now) {
-            return Optional.of(expiryTime - now);
+            return expiryTime - now;
         } else {
-            return Optional.of(0); // already expired
+            return 0; // already expired
         }
     }
 }
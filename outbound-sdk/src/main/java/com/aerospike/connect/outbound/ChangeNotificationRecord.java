@@ -21,6 +21,7 @@ package com.aerospike.connect.outbound;
 import com.aerospike.connect.outbound.format.Formatter;
 import com.aerospike.connect.outbound.routing.Router;
 import com.aerospike.connect.outbound.transformer.Transformer;
+import jakarta.annotation.Nullable;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
@@ -28,6 +29,7 @@ import lombok.ToString;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * A notification record shipped by Aerospike change notification when records
@@ -73,16 +75,55 @@ public class ChangeNotificationRecord {
      * For details on the bin values to be returned by transformers see
      * {@link Transformer#transform}.
      *
+     * <p>
+     * The map may be a {@link LazyBinMap} backed by the raw XDR message, in
+     * which case a bin value is decoded only when it is read. Prefer looking
+     * up the needed bins with {@link Map#get(Object)} over iterating all the
+     * bin values of wide records.
+     *
      * @return An unmodifiable map of bin name to bin value of the record. Will
      * be empty in case of a delete operation.
      */
     @NonNull
     private final Map<String, Object> bins;
 
+    /**
+     * An unmodifiable view of the bins when the record is created with an
+     * {@link OverlayBinMap}.
+     */
+    @EqualsAndHashCode.Exclude
+    @Nullable
+    @ToString.Exclude
+    private final OverlayBinMap binOverlay;
+
     public ChangeNotificationRecord(
             @NonNull ChangeNotificationMetadata metadata,
             @NonNull Map<String, Object> bins) {
         this.metadata = metadata;
         this.bins = Collections.unmodifiableMap(bins);
+        this.binOverlay = bins instanceof OverlayBinMap ?
+                ((OverlayBinMap) bins).unmodifiableView() : null;
+    }
+
+    /**
+     * Create a copy-on-write overlay of the bins of this record. Adding,
+     * replacing or removing bins in the overlay does not copy the bins of this
+     * record.
+     *
+     * @return a new overlay over the bins of this record.
+     */
+    public OverlayBinMap overlayBins() {
+        return new OverlayBinMap(bins);
+    }
+
+    /**
+     * Get the overlay the record was created with, to read only the changes
+     * to the original bins.
+     *
+     * @return an unmodifiable view of the overlay if the record was created
+     * with an {@link OverlayBinMap}, empty otherwise.
+     */
+    public Optional<OverlayBinMap> getBinOverlay() {
+        return Optional.ofNullable(binOverlay);
     }
 }
@@ -0,0 +1,388 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound;
+
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unmodifiable map of bin name to bin value backed by the raw Aerospike XDR
+ * message buffer. Bin values are decoded by a {@link BinValueDecoder} only
+ * when they are accessed, and the decoded value is retained for subsequent
+ * accesses.
+ *
+ * <p>
+ * A {@link ChangeNotificationRecord} created with a LazyBinMap has the same
+ * {@link ChangeNotificationRecord#getBins()} contract as one created with a
+ * fully materialized map. Looking up, counting or iterating the bin names does
+ * not decode any bin value. Reading a value through {@link #get(Object)}
+ * decodes only that bin, whereas methods which need every value like {@link
+ * #equals(Object)}, {@link #hashCode()}, {@link #toString()} or {@link
+ * #values()} decode all of them.
+ *
+ * <p>
+ * The message buffer should not be modified or reused while the map is
+ * reachable. Concurrent readers are allowed, a bin read concurrently for the
+ * first time may be decoded more than once. Decoded values are published
+ * with release and acquire semantics, so readers on other threads see fully
+ * built values.
+ */
+public final class LazyBinMap extends AbstractMap<String, Object> {
+    /**
+     * Marker for a bin value which is not yet decoded.
+     */
+    private static final Object NOT_DECODED = new Object();
+
+    /**
+     * The raw message buffer.
+     */
+    @NonNull
+    private final ByteBuffer buffer;
+
+    /**
+     * The decoder of the bin values.
+     */
+    @NonNull
+    private final BinValueDecoder decoder;
+
+    /**
+     * The bin names, indexed by bin position in the message.
+     */
+    @NonNull
+    private final String[] names;
+
+    /**
+     * The bin particle types, indexed by bin position in the message.
+     */
+    @NonNull
+    private final ParticleType[] particleTypes;
+
+    /**
+     * The offsets of the encoded bin values in the buffer, indexed by bin
+     * position in the message.
+     */
+    @NonNull
+    private final int[] offsets;
+
+    /**
+     * The lengths of the encoded bin values, indexed by bin position in the
+     * message.
+     */
+    @NonNull
+    private final int[] lengths;
+
+    /**
+     * The decoded bin values, {@link #NOT_DECODED} until first access.
+     */
+    @NonNull
+    private final AtomicReferenceArray<Object> values;
+
+    private LazyBinMap(@NonNull Builder builder) {
+        this.buffer = builder.buffer;
+        this.decoder = builder.decoder;
+        this.names = Arrays.copyOf(builder.names, builder.size);
+        this.particleTypes =
+                Arrays.copyOf(builder.particleTypes, builder.size);
+        this.offsets = Arrays.copyOf(builder.offsets, builder.size);
+        this.lengths = Arrays.copyOf(builder.lengths, builder.size);
+        Object[] notDecoded = new Object[builder.size];
+        Arrays.fill(notDecoded, NOT_DECODED);
+        this.values = new AtomicReferenceArray<>(notDecoded);
+    }
+
+    /**
+     * Create a builder for a map backed by the {@code buffer}.
+     *
+     * @param buffer  the raw message buffer.
+     * @param decoder the decoder of the bin values.
+     * @return a new builder.
+     */
+    public static Builder builder(@NonNull ByteBuffer buffer,
+                                  @NonNull BinValueDecoder decoder) {
+        return new Builder(buffer, decoder);
+    }
+
+    /**
+     * Get the particle type of a bin without decoding its value.
+     *
+     * @param binName the name of the bin.
+     * @return the particle type of the bin, <code>null</code> if the bin is
+     * not present.
+     */
+    @Nullable
+    public ParticleType getParticleType(@NonNull String binName) {
+        int index = indexOf(binName);
+        return index < 0 ? null : particleTypes[index];
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new IndexIterator<String>() {
+                    @Override
+                    String element(int index) {
+                        return names[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return indexOf(o) >= 0;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new IndexIterator<Map.Entry<String, Object>>() {
+                    @Override
+                    Map.Entry<String, Object> element(int index) {
+                        return new LazyEntry(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    /**
+     * Find the position of a bin. Compares the cached hash codes of the bin
+     * names before comparing the names themselves.
+     */
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        int hash = key.hashCode();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].hashCode() == hash && names[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private Object valueAt(int index) {
+        Object value = values.getAcquire(index);
+        if (value == NOT_DECODED) {
+            value = decoder.decode(particleTypes[index], buffer,
+                    offsets[index], lengths[index]);
+            values.setRelease(index, value);
+        }
+        return value;
+    }
+
+    /**
+     * Iterates over the bin positions.
+     */
+    private abstract class IndexIterator<E> implements Iterator<E> {
+        private int next = 0;
+
+        abstract E element(int index);
+
+        @Override
+        public boolean hasNext() {
+            return next < names.length;
+        }
+
+        @Override
+        public E next() {
+            if (next >= names.length) {
+                throw new NoSuchElementException();
+            }
+            return element(next++);
+        }
+    }
+
+    /**
+     * An unmodifiable map entry decoding the bin value on first access.
+     */
+    private final class LazyEntry implements Map.Entry<String, Object> {
+        private final int index;
+
+        private LazyEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return names[index];
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(index);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return getKey().equals(entry.getKey()) &&
+                    Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * Builder of a {@link LazyBinMap}. Bins are added in the order they appear
+     * in the message, bin names must be unique.
+     */
+    public static final class Builder {
+        @NonNull
+        private final ByteBuffer buffer;
+
+        @NonNull
+        private final BinValueDecoder decoder;
+
+        private String[] names = new String[8];
+        private ParticleType[] particleTypes = new ParticleType[8];
+        private int[] offsets = new int[8];
+        private int[] lengths = new int[8];
+        private int size = 0;
+
+        private Builder(@NonNull ByteBuffer buffer,
+                        @NonNull BinValueDecoder decoder) {
+            this.buffer = buffer;
+            this.decoder = decoder;
+        }
+
+        /**
+         * Add a bin whose value is encoded in the message buffer.
+         *
+         * @param name         the name of the bin.
+         * @param particleType the particle type of the bin value.
+         * @param offset       the offset of the encoded bin value in the
+         *                     buffer.
+         * @param length       the length of the encoded bin value in bytes.
+         * @return this builder.
+         * @throws IndexOutOfBoundsException if the value is not within the
+         *                                   limit of the buffer.
+         * @throws IllegalArgumentException  if a bin with the name is already
+         *                                   added.
+         */
+        public Builder bin(@NonNull String name,
+                           @NonNull ParticleType particleType, int offset,
+                           int length) {
+            if (offset < 0 || length < 0 ||
+                    offset > buffer.limit() - length) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "bin %s at offset %d with length %d out of buffer " +
+                                "bounds", name, offset, length));
+            }
+
+            int hash = name.hashCode();
+            for (int i = 0; i < size; i++) {
+                if (names[i].hashCode() == hash && names[i].equals(name)) {
+                    throw new IllegalArgumentException(
+                            "duplicate bin " + name);
+                }
+            }
+
+            if (size == names.length) {
+                int capacity = size * 2;
+                names = Arrays.copyOf(names, capacity);
+                particleTypes = Arrays.copyOf(particleTypes, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+
+            names[size] = name;
+            particleTypes[size] = particleType;
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+            return this;
+        }
+
+        /**
+         * Build the map.
+         *
+         * @return the map backed by the message buffer.
+         */
+        public LazyBinMap build() {
+            return new LazyBinMap(this);
+        }
+    }
+}
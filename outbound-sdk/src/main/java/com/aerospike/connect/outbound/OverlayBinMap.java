@@ -0,0 +1,347 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound;
+
+import lombok.NonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A copy-on-write map of bin name to bin value layered over the unmodifiable
+ * bins of a {@link ChangeNotificationRecord}. Only the added, replaced and
+ * removed bins are recorded, the original bins are neither copied nor
+ * modified.
+ *
+ * <p>
+ * Transformers can use the overlay instead of copying all the bins into a new
+ * map to add or remove a few bins
+ * <pre>
+ * OverlayBinMap bins = record.overlayBins();
+ * bins.put("colour", "RED");
+ * bins.remove("shade");
+ * return new ChangeNotificationRecord(record.getMetadata(), bins);
+ * </pre>
+ *
+ * <p>
+ * The changes are available through {@link #getUpdatedBins()} and {@link
+ * #getRemovedBins()}, so that the consuming code can apply only the changes
+ * on top of {@link #getBase()}. Instances are not thread safe.
+ * {@link #unmodifiableView()} gets a read only view of the overlay.
+ */
+public final class OverlayBinMap extends AbstractMap<String, Object> {
+    /**
+     * The original bins.
+     */
+    @NonNull
+    private final Map<String, Object> base;
+
+    /**
+     * The changes to the base bins, shared with the unmodifiable views.
+     */
+    private final Changes changes;
+
+    /**
+     * Whether this is an unmodifiable view.
+     */
+    private final boolean readOnly;
+
+    /**
+     * Create an overlay over the {@code base} bins.
+     *
+     * @param base the original bins. Should not be modified while the overlay
+     *             is in use.
+     */
+    public OverlayBinMap(@NonNull Map<String, Object> base) {
+        this(base, new Changes(base.size()), false);
+    }
+
+    private OverlayBinMap(Map<String, Object> base, Changes changes,
+                          boolean readOnly) {
+        this.base = base;
+        this.changes = changes;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Get an unmodifiable view of the overlay. The view reflects the later
+     * changes to the overlay, its mutators throw {@link
+     * UnsupportedOperationException}.
+     *
+     * @return an unmodifiable view of the overlay.
+     */
+    public OverlayBinMap unmodifiableView() {
+        return readOnly ? this : new OverlayBinMap(base, changes, true);
+    }
+
+    /**
+     * Get the original bins the overlay is layered on.
+     *
+     * @return the original bins.
+     */
+    public Map<String, Object> getBase() {
+        return base;
+    }
+
+    /**
+     * Get the bins added or replaced in the overlay.
+     *
+     * @return an unmodifiable map of the added and replaced bins.
+     */
+    public Map<String, Object> getUpdatedBins() {
+        return changes.updatedBins == null ? Collections.emptyMap() :
+                Collections.unmodifiableMap(changes.updatedBins);
+    }
+
+    /**
+     * Get the names of the original bins removed in the overlay.
+     *
+     * @return an unmodifiable set of the removed bin names.
+     */
+    public Set<String> getRemovedBins() {
+        return changes.removedBins == null ? Collections.emptySet() :
+                Collections.unmodifiableSet(changes.removedBins);
+    }
+
+    /**
+     * Check if any bin has been added, replaced or removed.
+     *
+     * @return true iff the overlay differs from the original bins.
+     */
+    public boolean isModified() {
+        return !getUpdatedBins().isEmpty() || !getRemovedBins().isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return changes.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Map<String, Object> updatedBins = changes.updatedBins;
+        if (updatedBins != null && updatedBins.containsKey(key)) {
+            return true;
+        }
+
+        Set<String> removedBins = changes.removedBins;
+        if (removedBins != null && removedBins.contains(key)) {
+            return false;
+        }
+
+        return base.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Map<String, Object> updatedBins = changes.updatedBins;
+        if (updatedBins != null && updatedBins.containsKey(key)) {
+            return updatedBins.get(key);
+        }
+
+        Set<String> removedBins = changes.removedBins;
+        if (removedBins != null && removedBins.contains(key)) {
+            return null;
+        }
+
+        return base.get(key);
+    }
+
+    @Override
+    public Object put(@NonNull String key, Object value) {
+        checkModifiable();
+
+        boolean present = containsKey(key);
+        Object previous = present ? get(key) : null;
+
+        if (changes.updatedBins == null) {
+            changes.updatedBins = new HashMap<>(4);
+        }
+        changes.updatedBins.put(key, value);
+
+        if (changes.removedBins != null) {
+            changes.removedBins.remove(key);
+        }
+
+        if (!present) {
+            changes.size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        checkModifiable();
+
+        if (!containsKey(key)) {
+            return null;
+        }
+
+        Object previous = get(key);
+        if (changes.updatedBins != null) {
+            changes.updatedBins.remove(key);
+        }
+
+        if (base.containsKey(key)) {
+            if (changes.removedBins == null) {
+                changes.removedBins = new HashSet<>(4);
+            }
+            changes.removedBins.add((String) key);
+        }
+
+        changes.size--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        checkModifiable();
+
+        changes.updatedBins = null;
+        if (!base.isEmpty()) {
+            changes.removedBins = new HashSet<>(base.keySet());
+        }
+        changes.size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                return changes.size;
+            }
+        };
+    }
+
+    private void checkModifiable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException(
+                    "unmodifiable view of the bin overlay");
+        }
+    }
+
+    /**
+     * The added, replaced and removed bins.
+     */
+    private static final class Changes {
+        /**
+         * Added and replaced bins, created on first change.
+         */
+        private Map<String, Object> updatedBins;
+
+        /**
+         * Removed bins of the base map, created on first removal.
+         */
+        private Set<String> removedBins;
+
+        /**
+         * The number of bins in the overlay.
+         */
+        private int size;
+
+        Changes(int size) {
+            this.size = size;
+        }
+    }
+
+    /**
+     * Iterates over the original bins in the overlay, followed by the added
+     * bins.
+     */
+    private final class OverlayIterator
+            implements Iterator<Map.Entry<String, Object>> {
+        private final Iterator<String> baseKeys = base.keySet().iterator();
+        private Iterator<String> addedKeys;
+        private String nextKey;
+        private String lastKey;
+
+        @Override
+        public boolean hasNext() {
+            if (nextKey != null) {
+                return true;
+            }
+
+            while (baseKeys.hasNext()) {
+                String key = baseKeys.next();
+                if (changes.removedBins == null ||
+                        !changes.removedBins.contains(key)) {
+                    nextKey = key;
+                    return true;
+                }
+            }
+
+            if (addedKeys == null) {
+                // Snapshot the added bins so that they can be removed while
+                // iterating.
+                List<String> added = new ArrayList<>();
+                if (changes.updatedBins != null) {
+                    for (String key : changes.updatedBins.keySet()) {
+                        if (!base.containsKey(key)) {
+                            added.add(key);
+                        }
+                    }
+                }
+                addedKeys = added.iterator();
+            }
+
+            if (addedKeys.hasNext()) {
+                nextKey = addedKeys.next();
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastKey = nextKey;
+            nextKey = null;
+            return new SimpleImmutableEntry<>(lastKey, get(lastKey));
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+
+            OverlayBinMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
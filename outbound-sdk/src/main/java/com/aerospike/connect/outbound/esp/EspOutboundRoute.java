@@ -19,6 +19,7 @@
 package com.aerospike.connect.outbound.esp;
 
 import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
+import com.aerospike.connect.outbound.routing.OutboundRouteInterner;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import lombok.NonNull;
 
@@ -27,7 +28,24 @@ import lombok.NonNull;
  * Outbound route to an ESP (Event Stream Processing) destination.
  */
 public class EspOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The canonical routes.
+     */
+    private static final OutboundRouteInterner<String, EspOutboundRoute>
+            routes = new OutboundRouteInterner<>(EspOutboundRoute::new);
+
     public EspOutboundRoute(@NonNull String route) {
         super(OutboundRouteType.OTHER, route);
     }
+
+    /**
+     * Get the canonical route to an ESP destination. Prefer this method over
+     * creating a new route for every record.
+     *
+     * @param route the ESP destination.
+     * @return the canonical route.
+     */
+    public static EspOutboundRoute of(@NonNull String route) {
+        return routes.intern(route);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Value;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * A Jackson module serializing Aerospike client {@link Value Values} the same
+ * way as the built-in JSON outbound format.
+ *
+ * <p>
+ * Register the module with the object mapper of a custom formatter to
+ * serialize records with bins holding Aerospike values
+ * <pre>
+ * ObjectMapper objectMapper = new ObjectMapper()
+ *         .registerModule(new AerospikeValueModule());
+ * </pre>
+ *
+ * <ul>
+ *     <li>{@link Value.BytesValue BytesValue} of any particle type is written
+ *     as a Base64 encoded string directly from the byte array, with the
+ *     Base64 variant of the mapper, also when nested in lists and maps.</li>
+ *     <li>{@link Value.GeoJSONValue GeoJSONValue} is written as a JSON
+ *     object.</li>
+ *     <li>other values, including list and map values, are written as their
+ *     underlying Java object. Map keys are written with the key serializers
+ *     of the mapper.</li>
+ * </ul>
+ *
+ * @see JsonValueWriter
+ */
+public class AerospikeValueModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public AerospikeValueModule() {
+        super(AerospikeValueModule.class.getSimpleName());
+        addSerializer(Value.BytesValue.class, new BytesValueSerializer());
+        addSerializer(Value.GeoJSONValue.class, new GeoJSONValueSerializer());
+        addSerializer(Value.class, new ValueSerializer());
+    }
+
+    private static class BytesValueSerializer
+            extends StdSerializer<Value.BytesValue> {
+        private static final long serialVersionUID = 1L;
+
+        BytesValueSerializer() {
+            super(Value.BytesValue.class);
+        }
+
+        @Override
+        public void serialize(Value.BytesValue value, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            byte[] bytes = (byte[]) value.getObject();
+            generator.writeBinary(provider.getConfig().getBase64Variant(),
+                    bytes, 0, bytes.length);
+        }
+    }
+
+    private static class GeoJSONValueSerializer
+            extends StdSerializer<Value.GeoJSONValue> {
+        private static final long serialVersionUID = 1L;
+
+        GeoJSONValueSerializer() {
+            super(Value.GeoJSONValue.class);
+        }
+
+        @Override
+        public void serialize(Value.GeoJSONValue value,
+                              JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            generator.writeRawValue((String) value.getObject());
+        }
+    }
+
+    private static class ValueSerializer extends StdSerializer<Value> {
+        private static final long serialVersionUID = 1L;
+
+        ValueSerializer() {
+            super(Value.class);
+        }
+
+        @Override
+        public void serialize(Value value, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            JsonValueWriter.writeAerospikeValue(generator, value, provider);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import com.aerospike.connect.outbound.format.ArrowStreamWriter.ColumnType;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link BatchFormatter} formatting the records of a batch as Arrow IPC
+ * streams for analytics destinations, with one column per bin.
+ *
+ * <p>
+ * The records of each set in the batch are formatted as an Arrow stream
+ * with a single record batch, one row per record, returned as a {@link
+ * BytesOutboundRecord} with the metadata of the formatted record of the
+ * first record of the set. Delete records and records without a bin have
+ * null values in the column of the bin.
+ *
+ * <p>
+ * The schema of a set is inferred from the bin values and kept across
+ * batches, so the columns of a set keep their order and type; a bin not in
+ * a batch is a column of null values. The column types are
+ * <ul>
+ *     <li>64 bit signed integers for integers.</li>
+ *     <li>64 bit floating points for floats, and for integers once a bin
+ *     has had a float value.</li>
+ *     <li>booleans for booleans.</li>
+ *     <li>binary for <code>byte[]</code> and
+ *     {@link com.aerospike.client.Value.BytesValue BytesValue} of any
+ *     particle type.</li>
+ *     <li>UTF-8 strings for strings and GeoJSON, and the JSON text of lists,
+ *     maps and of the values of bins having had values of several types.
+ *     </li>
+ * </ul>
+ * A column is never narrowed, consumers merge the streams of a set by
+ * widening the earlier schemas.
+ *
+ * @param <T> the metadata associated with the outbound records.
+ */
+public class ArrowBatchFormatter<T extends OutboundMetadata>
+        implements BatchFormatter<T> {
+    /**
+     * The schemas by set, keyed by {@code <namespace>.<set>}.
+     */
+    private final Map<String, Map<String, ColumnType>> schemas =
+            new ConcurrentHashMap<>();
+
+    @Override
+    public List<OutboundRecord<T>> format(
+            @NonNull List<BatchItem<T>> batchItems) throws Exception {
+        Map<String, List<BatchItem<T>>> sets = new LinkedHashMap<>();
+        for (BatchItem<T> batchItem : batchItems) {
+            Key key = batchItem.getRecord().getMetadata().getKey();
+            sets.computeIfAbsent(schemaKey(key.namespace, key.setName),
+                    ignored -> new ArrayList<>()).add(batchItem);
+        }
+
+        List<OutboundRecord<T>> records = new ArrayList<>(sets.size());
+        for (Map.Entry<String, List<BatchItem<T>>> entry : sets.entrySet()) {
+            records.add(format(entry.getKey(), entry.getValue()));
+        }
+        return records;
+    }
+
+    /**
+     * Get the schema of a set.
+     *
+     * @param namespace the namespace.
+     * @param setName   the set, {@code null} for records without a set.
+     * @return the bin names of the columns of the set, in column order.
+     */
+    public List<String> getColumns(@NonNull String namespace,
+                                   @Nullable String setName) {
+        Map<String, ColumnType> schema =
+                schemas.get(schemaKey(namespace, setName));
+        if (schema == null) {
+            return Collections.emptyList();
+        }
+
+        synchronized (schema) {
+            return new ArrayList<>(schema.keySet());
+        }
+    }
+
+    private OutboundRecord<T> format(String schemaKey,
+                                     List<BatchItem<T>> batchItems)
+            throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>(batchItems.size());
+        for (BatchItem<T> batchItem : batchItems) {
+            rows.add(batchItem.getRecord().getBins());
+        }
+
+        byte[] payload = ArrowStreamWriter.write(widen(schemaKey, rows),
+                rows);
+        return new DefaultBytesOutboundRecord<>(payload,
+                MediaType.ARROW_STREAM,
+                batchItems.get(0).getFormattedRecord().getMetadata(), null);
+    }
+
+    /**
+     * Widen the schema of the set with the types of the bin values.
+     *
+     * @return a copy of the widened schema.
+     */
+    private Map<String, ColumnType> widen(String schemaKey,
+                                          List<Map<String, Object>> rows) {
+        Map<String, ColumnType> schema = schemas.computeIfAbsent(schemaKey,
+                ignored -> new LinkedHashMap<>());
+        synchronized (schema) {
+            for (Map<String, Object> bins : rows) {
+                for (Map.Entry<String, Object> bin : bins.entrySet()) {
+                    schema.merge(bin.getKey(),
+                            ColumnType.of(bin.getValue()),
+                            ColumnType::widen);
+                }
+            }
+            return new LinkedHashMap<>(schema);
+        }
+    }
+
+    private static String schemaKey(String namespace,
+                                    @Nullable String setName) {
+        return setName == null ? namespace : namespace + "." + setName;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Value;
+import com.aerospike.connect.outbound.format.FlatBufferWriter.LongPairVector;
+import com.aerospike.connect.outbound.format.FlatBufferWriter.StringNode;
+import com.aerospike.connect.outbound.format.FlatBufferWriter.Table;
+import com.aerospike.connect.outbound.format.FlatBufferWriter.TableVector;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write columns of bin values as an Arrow IPC stream: the schema message, a
+ * single record batch message and the end of stream marker.
+ *
+ * <p>
+ * All the columns are nullable, the buffers of the record batch are 8 byte
+ * aligned and uncompressed. See the Arrow columnar format specification for
+ * the layout.
+ */
+final class ArrowStreamWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final short METADATA_VERSION_V5 = 4;
+
+    private static final byte HEADER_SCHEMA = 1;
+
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    private static final short PRECISION_DOUBLE = 2;
+
+    private static final int CONTINUATION = 0xFFFFFFFF;
+
+    /**
+     * The Arrow type of a column.
+     */
+    enum ColumnType {
+        /**
+         * Only null values seen yet, written as a text column.
+         */
+        NULL(5),
+        INT64(2),
+        FLOAT64(3),
+        BOOL(6),
+        BINARY(4),
+        /**
+         * Strings, GeoJSON, and the JSON text of lists, maps and values of
+         * mixed types.
+         */
+        UTF8(5);
+
+        /**
+         * The Arrow {@code Type} union type id.
+         */
+        private final byte typeId;
+
+        ColumnType(int typeId) {
+            this.typeId = (byte) typeId;
+        }
+
+        /**
+         * Get the column type of a bin value.
+         */
+        static ColumnType of(@Nullable Object value) {
+            value = unwrap(value);
+            if (value == null) {
+                return NULL;
+            } else if (value instanceof Long || value instanceof Integer ||
+                    value instanceof Short || value instanceof Byte) {
+                return INT64;
+            } else if (value instanceof Double || value instanceof Float) {
+                return FLOAT64;
+            } else if (value instanceof Boolean) {
+                return BOOL;
+            } else if (value instanceof byte[]) {
+                return BINARY;
+            }
+            return UTF8;
+        }
+
+        /**
+         * Get the type of a column holding values of both types.
+         */
+        ColumnType widen(ColumnType other) {
+            if (this == other || other == NULL) {
+                return this;
+            } else if (this == NULL) {
+                return other;
+            } else if ((this == INT64 && other == FLOAT64) ||
+                    (this == FLOAT64 && other == INT64)) {
+                return FLOAT64;
+            }
+            return UTF8;
+        }
+    }
+
+    private ArrowStreamWriter() {
+    }
+
+    /**
+     * Write the rows of bins as an Arrow IPC stream.
+     *
+     * @param columns the bin names and types of the columns.
+     * @param rows    the bins of each row.
+     * @return the stream.
+     * @throws IOException if failed to write a value as JSON text.
+     */
+    static byte[] write(Map<String, ColumnType> columns,
+                        List<Map<String, Object>> rows) throws IOException {
+        List<Table> fields = new ArrayList<>(columns.size());
+        Body body = new Body();
+        long[] nodes = new long[2 * columns.size()];
+        int column = 0;
+        for (Map.Entry<String, ColumnType> entry : columns.entrySet()) {
+            fields.add(field(entry.getKey(), entry.getValue()));
+            nodes[2 * column] = rows.size();
+            nodes[2 * column + 1] =
+                    body.addColumn(entry.getKey(), entry.getValue(), rows);
+            column++;
+        }
+
+        Table schema = new Table()
+                .addShort(0, 0)
+                .addOffset(1, new TableVector(fields));
+        Table recordBatch = new Table()
+                .addLong(0, rows.size())
+                .addOffset(1, new LongPairVector(nodes))
+                .addOffset(2, new LongPairVector(body.getBuffers()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                64 + 64 * columns.size() + body.data.size());
+        writeMessage(out, HEADER_SCHEMA, schema, new byte[0]);
+        writeMessage(out, HEADER_RECORD_BATCH, recordBatch,
+                body.data.toByteArray());
+        writeInt(out, CONTINUATION);
+        writeInt(out, 0);
+        return out.toByteArray();
+    }
+
+    private static Table field(String name, ColumnType type) {
+        Table typeTable = new Table();
+        if (type == ColumnType.INT64) {
+            typeTable.addInt(0, 64).addBoolean(1, true);
+        } else if (type == ColumnType.FLOAT64) {
+            typeTable.addShort(0, PRECISION_DOUBLE);
+        }
+
+        return new Table()
+                .addOffset(0, new StringNode(name))
+                .addBoolean(1, true)
+                .addByte(2, type.typeId)
+                .addOffset(3, typeTable)
+                .addOffset(5, new TableVector(Collections.emptyList()));
+    }
+
+    private static void writeMessage(ByteArrayOutputStream out,
+                                     byte headerType, Table header,
+                                     byte[] body) {
+        Table message = new Table()
+                .addShort(0, METADATA_VERSION_V5)
+                .addByte(1, headerType)
+                .addOffset(2, header)
+                .addLong(3, body.length);
+        byte[] metadata = FlatBufferWriter.finish(message);
+
+        // The metadata is padded for the body to be 8 byte aligned.
+        int paddedLength = (metadata.length + 7) & -8;
+        writeInt(out, CONTINUATION);
+        writeInt(out, paddedLength);
+        out.write(metadata, 0, metadata.length);
+        out.write(new byte[paddedLength - metadata.length], 0,
+                paddedLength - metadata.length);
+        out.write(body, 0, body.length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        for (int i = 0; i < 4; i++) {
+            out.write(value >>> (8 * i));
+        }
+    }
+
+    @Nullable
+    private static Object unwrap(@Nullable Object value) {
+        // Blobs of any particle type are binary, GeoJSON is a string.
+        return value instanceof Value ? ((Value) value).getObject() : value;
+    }
+
+    /**
+     * The record batch body, the buffers of all the columns.
+     */
+    private static class Body {
+        private final ByteArrayOutputStream data =
+                new ByteArrayOutputStream();
+
+        private final List<Long> buffers = new ArrayList<>();
+
+        /**
+         * Add the buffers of a column.
+         *
+         * @return the number of null values in the column.
+         */
+        int addColumn(String name, ColumnType type,
+                      List<Map<String, Object>> rows) throws IOException {
+            int rowCount = rows.size();
+            byte[] validity = new byte[(rowCount + 7) / 8];
+            int nullCount = 0;
+            Object[] values = new Object[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = unwrap(rows.get(i).get(name));
+                if (values[i] == null) {
+                    nullCount++;
+                } else {
+                    validity[i / 8] |= (byte) (1 << (i % 8));
+                }
+            }
+
+            // The validity bitmap may be omitted without null values.
+            addBuffer(nullCount == 0 ? new byte[0] : validity);
+
+            switch (type) {
+                case INT64:
+                case FLOAT64:
+                    byte[] fixed = new byte[8 * rowCount];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (values[i] != null) {
+                            Number number = (Number) values[i];
+                            putLong(fixed, 8 * i, type == ColumnType.INT64 ?
+                                    number.longValue() :
+                                    Double.doubleToRawLongBits(
+                                            number.doubleValue()));
+                        }
+                    }
+                    addBuffer(fixed);
+                    break;
+
+                case BOOL:
+                    byte[] bits = new byte[(rowCount + 7) / 8];
+                    for (int i = 0; i < rowCount; i++) {
+                        if (Boolean.TRUE.equals(values[i])) {
+                            bits[i / 8] |= (byte) (1 << (i % 8));
+                        }
+                    }
+                    addBuffer(bits);
+                    break;
+
+                default:
+                    addVariableColumn(type, values);
+                    break;
+            }
+            return nullCount;
+        }
+
+        private void addVariableColumn(ColumnType type, Object[] values)
+                throws IOException {
+            byte[] offsets = new byte[4 * (values.length + 1)];
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    byte[] value = type == ColumnType.BINARY ?
+                            (byte[]) values[i] : toText(values[i]);
+                    bytes.write(value, 0, value.length);
+                }
+                putInt(offsets, 4 * (i + 1), bytes.size());
+            }
+            addBuffer(offsets);
+            addBuffer(bytes.toByteArray());
+        }
+
+        private static byte[] toText(Object value) throws IOException {
+            if (value instanceof String) {
+                return ((String) value).getBytes(StandardCharsets.UTF_8);
+            }
+
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator =
+                         JSON_FACTORY.createGenerator(writer)) {
+                JsonValueWriter.writeValue(generator, value);
+            }
+            return writer.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void addBuffer(byte[] buffer) {
+            buffers.add((long) data.size());
+            buffers.add((long) buffer.length);
+            data.write(buffer, 0, buffer.length);
+            int padding = -buffer.length & 7;
+            data.write(new byte[padding], 0, padding);
+        }
+
+        long[] getBuffers() {
+            long[] pairs = new long[buffers.size()];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = buffers.get(i);
+            }
+            return pairs;
+        }
+
+        private static void putInt(byte[] buffer, int position, int value) {
+            for (int i = 0; i < 4; i++) {
+                buffer[position + i] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private static void putLong(byte[] buffer, int position,
+                                    long value) {
+            for (int i = 0; i < 8; i++) {
+                buffer[position + i] = (byte) (value >>> (8 * i));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Write Avro binary encoded primitives into a growable byte array.
+ */
+class AvroBinaryEncoder {
+    private byte[] buffer = new byte[256];
+
+    private int length;
+
+    void writeLong(long value) {
+        ensureCapacity(10);
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        buffer[length++] = (byte) zigZag;
+    }
+
+    void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) (value ? 1 : 0);
+    }
+
+    void writeFloat(float value) {
+        ensureCapacity(4);
+        int bits = Float.floatToRawIntBits(value);
+        for (int i = 0; i < 4; i++) {
+            buffer[length++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    void writeDouble(double value) {
+        ensureCapacity(8);
+        long bits = Double.doubleToRawLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            buffer[length++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    void writeBytes(@NonNull byte[] value) {
+        writeLong(value.length);
+        writeFixed(value);
+    }
+
+    void writeFixed(@NonNull byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, length, value.length);
+        length += value.length;
+    }
+
+    void writeString(@NonNull String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    int size() {
+        return length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    void copyTo(@NonNull byte[] destination, int offset) {
+        System.arraycopy(buffer, 0, destination, offset, length);
+    }
+
+    void writeTo(@NonNull OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (buffer.length - length >= required) {
+            return;
+        }
+
+        long capacity = Math.max((long) length + required,
+                2L * buffer.length);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("encoded record too large");
+        }
+        buffer = Arrays.copyOf(buffer, (int) capacity);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write the bins of records in the Avro binary encoding, with a schema per
+ * namespace and set.
+ *
+ * <p>
+ * The schema of a set is loaded from the {@link AvroSchemaRegistry} when the
+ * first record of the set is written, or inferred from the bins of the record
+ * when the registry has no schema for the set. The schema is compiled once
+ * into an encoder plan writing the bins in field order without building
+ * intermediate Avro records.
+ *
+ * <p>
+ * Bins without a field in a loaded schema are ignored, and records with bins
+ * not matching a loaded schema fail. An inferred schema evolves instead: its
+ * fields are nullable, and a record with new bins or bin values of new types
+ * widens the schema, which is registered as a new version. See {@link
+ * AvroType} for how bin values are matched to the schema types.
+ *
+ * <p>
+ * Inferred schemas are registered with the {@value #INFERRED_PROPERTY}
+ * property set to {@code true}, ignored by Avro readers. A schema loaded from
+ * the registry with the property, like an inferred schema loaded after a
+ * restart, keeps evolving; schemas without it are fixed.
+ *
+ * <p>
+ * {@link #writeBins(ChangeNotificationRecord)} frames the bins in the
+ * Confluent wire format, a {@value #MAGIC_BYTE} byte and the big-endian
+ * schema id followed by the Avro binary encoded bins, so that consumers can
+ * look up the schema of each payload.
+ *
+ * <p>
+ * This class is thread safe, a single instance should be shared by a
+ * formatter.
+ */
+public final class AvroRecordWriter {
+    /**
+     * The schema property marking the inferred schemas.
+     */
+    public static final String INFERRED_PROPERTY = "aerospike.inferred";
+
+    /**
+     * The first byte of a payload in the Confluent wire format.
+     */
+    public static final byte MAGIC_BYTE = 0;
+
+    /**
+     * The size of the magic byte and schema id preceding the bins.
+     */
+    private static final int HEADER_SIZE = 5;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The number of times the inferred schema of a set is widened for a
+     * record before failing.
+     */
+    private static final int MAX_SCHEMA_EVOLUTIONS = 3;
+
+    @NonNull
+    private final AvroSchemaRegistry registry;
+
+    /**
+     * The encoder plans by namespace, then set. Records without a set are
+     * cached under the empty set name.
+     */
+    private final Map<String, Map<String, Plan>> plans =
+            new ConcurrentHashMap<>();
+
+    public AvroRecordWriter(@NonNull AvroSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Write the bins of the record in the Confluent wire format.
+     *
+     * @param record the record.
+     * @return the {@value #MAGIC_BYTE} magic byte, the big-endian registry id
+     * of the schema and the Avro binary encoded bins.
+     * @throws IOException if failed to write the bins, or the bins do not
+     *                     match the schema of the set.
+     */
+    public byte[] writeBins(@NonNull ChangeNotificationRecord record)
+            throws IOException {
+        AvroBinaryEncoder encoder = new AvroBinaryEncoder();
+        int schemaId = encode(record, encoder).schemaId;
+        byte[] payload = new byte[HEADER_SIZE + encoder.size()];
+        payload[0] = MAGIC_BYTE;
+        for (int i = 0; i < 4; i++) {
+            payload[1 + i] = (byte) (schemaId >>> (24 - 8 * i));
+        }
+        encoder.copyTo(payload, HEADER_SIZE);
+        return payload;
+    }
+
+    /**
+     * Write the Avro binary encoded bins of the record to the stream, without
+     * a header.
+     *
+     * @param out    the stream to write to.
+     * @param record the record.
+     * @return the registry id of the schema the bins are written with.
+     * @throws IOException if failed to write the bins, or the bins do not
+     *                     match the schema of the set.
+     */
+    public int writeBins(@NonNull OutputStream out,
+                         @NonNull ChangeNotificationRecord record)
+            throws IOException {
+        AvroBinaryEncoder encoder = new AvroBinaryEncoder();
+        Plan plan = encode(record, encoder);
+        encoder.writeTo(out);
+        return plan.schemaId;
+    }
+
+    /**
+     * Get the subject of the records of a set in the registry.
+     *
+     * @param namespace the namespace.
+     * @param setName   the set, {@code null} for records without a set.
+     * @return the subject.
+     */
+    public static String getSubject(@NonNull String namespace,
+                                    String setName) {
+        return setName == null || setName.isEmpty() ? namespace :
+                namespace + "." + setName;
+    }
+
+    private Plan encode(ChangeNotificationRecord record,
+                        AvroBinaryEncoder encoder) throws IOException {
+        Key key = record.getMetadata().getKey();
+        String setName = key.setName != null ? key.setName : "";
+        Map<String, Object> bins = record.getBins();
+
+        Plan plan = getPlan(key.namespace, setName, bins);
+        for (int evolutions = 0; ; evolutions++) {
+            try {
+                plan.schema.writeBins(encoder, bins, plan.inferred);
+                return plan;
+            } catch (AvroType.MismatchException e) {
+                if (!plan.inferred || evolutions == MAX_SCHEMA_EVOLUTIONS) {
+                    throw new IOException("bins of record " + key +
+                            " do not match the Avro schema of " +
+                            getSubject(key.namespace, setName), e);
+                }
+
+                plan = evolve(key.namespace, setName, plan, bins);
+                encoder.reset();
+            }
+        }
+    }
+
+    private Plan getPlan(String namespace, String setName,
+                         Map<String, Object> bins) throws IOException {
+        Map<String, Plan> setPlans = plans.get(namespace);
+        Plan plan = setPlans != null ? setPlans.get(setName) : null;
+        return plan != null ? plan : createPlan(namespace, setName, bins);
+    }
+
+    private synchronized Plan createPlan(String namespace, String setName,
+                                         Map<String, Object> bins)
+            throws IOException {
+        Map<String, Plan> setPlans = plans.computeIfAbsent(namespace,
+                ignored -> new ConcurrentHashMap<>());
+        Plan plan = setPlans.get(setName);
+        if (plan != null) {
+            return plan;
+        }
+
+        String subject = getSubject(namespace, setName);
+        String schema = registry.getSchema(subject).orElse(null);
+        if (schema != null) {
+            JsonNode schemaNode = objectMapper.readTree(schema);
+            AvroType type = AvroType.parse(schemaNode);
+            if (!(type instanceof AvroType.RecordType)) {
+                throw new IOException("Avro schema of " + subject +
+                        " should be a record");
+            }
+
+            plan = new Plan(registry.register(subject, schema),
+                    (AvroType.RecordType) type,
+                    schemaNode.path(INFERRED_PROPERTY).asBoolean(false));
+        } else {
+            String name = AvroType.toAvroName(namespace) + "." +
+                    AvroType.toAvroName(setName.isEmpty() ? namespace :
+                            setName);
+            plan = register(subject,
+                    AvroType.RecordType.infer(name, bins));
+        }
+
+        setPlans.put(setName, plan);
+        return plan;
+    }
+
+    private synchronized Plan evolve(String namespace, String setName,
+                                     Plan plan, Map<String, Object> bins)
+            throws IOException {
+        Map<String, Plan> setPlans = plans.get(namespace);
+        Plan current = setPlans.get(setName);
+        if (current != plan) {
+            // Already evolved by another record.
+            return current;
+        }
+
+        Plan evolved = register(getSubject(namespace, setName),
+                plan.schema.mergeBins(bins));
+        setPlans.put(setName, evolved);
+        return evolved;
+    }
+
+    private Plan register(String subject, AvroType.RecordType schema)
+            throws IOException {
+        ObjectNode schemaNode = (ObjectNode) schema.toJson();
+        schemaNode.put(INFERRED_PROPERTY, true);
+        int schemaId = registry.register(subject,
+                objectMapper.writeValueAsString(schemaNode));
+        return new Plan(schemaId, schema, true);
+    }
+
+    /**
+     * The compiled schema of a set.
+     */
+    @AllArgsConstructor
+    private static class Plan {
+        private final int schemaId;
+
+        @NonNull
+        private final AvroType.RecordType schema;
+
+        /**
+         * Whether the schema is inferred and can evolve.
+         */
+        private final boolean inferred;
+    }
+}
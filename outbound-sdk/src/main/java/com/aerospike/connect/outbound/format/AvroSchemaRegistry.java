@@ -0,0 +1,57 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A registry of the Avro schemas of the records of each namespace and set.
+ *
+ * <p>
+ * The subject of the records of a set is {@code <namespace>.<set>}, and
+ * {@code <namespace>} for the records without a set.
+ *
+ * @see FileAvroSchemaRegistry
+ */
+public interface AvroSchemaRegistry {
+    /**
+     * Get the latest schema of the subject.
+     *
+     * @param subject the subject.
+     * @return the schema in Avro JSON schema format, empty if the subject has
+     * no schema.
+     * @throws IOException if failed to read the schema.
+     */
+    Optional<String> getSchema(@NonNull String subject) throws IOException;
+
+    /**
+     * Register a schema as the latest schema of the subject. Registering a
+     * schema registered earlier returns the same id.
+     *
+     * @param subject the subject.
+     * @param schema  the schema in Avro JSON schema format.
+     * @return the id of the schema.
+     * @throws IOException if failed to register the schema.
+     */
+    int register(@NonNull String subject, @NonNull String schema)
+            throws IOException;
+}
@@ -0,0 +1,796 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Value;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled Avro schema writing bin values in the Avro binary encoding.
+ *
+ * <p>
+ * Schemas are either parsed from the Avro JSON schema format, or inferred from
+ * bin values. Inferred schemas are widened by merging with the schema
+ * inferred from values that do not match, every field of an inferred record
+ * is nullable and the CDT lists and maps are arrays and maps of the union of
+ * the types of their elements. Logical types are written as their underlying
+ * type.
+ *
+ * <p>
+ * Bin values are matched to the schema types as
+ * <ul>
+ *     <li>integer values to int and long.</li>
+ *     <li>float and double values to float and double.</li>
+ *     <li><code>byte[]</code> and {@link Value.BytesValue BytesValue} to bytes
+ *     and fixed.</li>
+ *     <li>strings and {@link Value.GeoJSONValue GeoJSONValue} to string and
+ *     enum.</li>
+ *     <li>lists to arrays, maps to maps and records. The keys of maps are
+ *     written as strings.</li>
+ * </ul>
+ */
+abstract class AvroType {
+    enum Kind {
+        NULL, BOOLEAN, INT, LONG, FLOAT, DOUBLE, BYTES, STRING, ENUM, FIXED,
+        ARRAY, MAP, RECORD, UNION
+    }
+
+    /**
+     * Thrown when a value does not match the schema.
+     */
+    static class MismatchException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        MismatchException(String message) {
+            super(message);
+        }
+    }
+
+    static final AvroType NULL = new PrimitiveType(Kind.NULL);
+    static final AvroType BOOLEAN = new PrimitiveType(Kind.BOOLEAN);
+    static final AvroType INT = new PrimitiveType(Kind.INT);
+    static final AvroType LONG = new PrimitiveType(Kind.LONG);
+    static final AvroType FLOAT = new PrimitiveType(Kind.FLOAT);
+    static final AvroType DOUBLE = new PrimitiveType(Kind.DOUBLE);
+    static final AvroType BYTES = new PrimitiveType(Kind.BYTES);
+    static final AvroType STRING = new PrimitiveType(Kind.STRING);
+
+    private static final JsonNodeFactory nodeFactory = JsonNodeFactory.instance;
+
+    abstract Kind getKind();
+
+    /**
+     * Whether the value is of this type, without checking nested values.
+     *
+     * @param value the normalized value.
+     * @param exact whether the Java type of the value should be the exact
+     *              counterpart of this type, for example a {@link Long} for
+     *              long.
+     */
+    abstract boolean matches(@Nullable Object value, boolean exact);
+
+    /**
+     * Write the normalized value.
+     */
+    abstract void writeNormalized(AvroBinaryEncoder encoder,
+                                  @Nullable Object value)
+            throws MismatchException;
+
+    /**
+     * Get the schema in Avro JSON schema format. Named types are defined
+     * wherever they are used, so this is valid only for types without
+     * repeated or recursive named types, like inferred types.
+     */
+    abstract JsonNode toJson();
+
+    final void write(AvroBinaryEncoder encoder, @Nullable Object value)
+            throws MismatchException {
+        writeNormalized(encoder, normalize(value));
+    }
+
+    final MismatchException mismatch(@Nullable Object value) {
+        return new MismatchException("value of type " +
+                (value != null ? value.getClass().getName() : "null") +
+                " does not match " + toJson());
+    }
+
+    /**
+     * Unwrap Aerospike client values to their Java objects.
+     */
+    @Nullable
+    static Object normalize(@Nullable Object value) {
+        while (value instanceof Value) {
+            Object object = ((Value) value).getObject();
+            if (object == value) {
+                break;
+            }
+            value = object;
+        }
+        return value;
+    }
+
+    static boolean isIntegral(@Nullable Object value) {
+        return value instanceof Long || value instanceof Integer ||
+                value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Parse a schema in Avro JSON schema format.
+     */
+    static AvroType parse(@NonNull JsonNode schema) throws IOException {
+        return parse(schema, new HashMap<>(), null);
+    }
+
+    private static AvroType parse(JsonNode schema,
+                                  Map<String, AvroType> namedTypes,
+                                  @Nullable String namespace)
+            throws IOException {
+        if (schema.isTextual()) {
+            return parseTypeName(schema.asText(), namedTypes, namespace);
+        }
+
+        if (schema.isArray()) {
+            List<AvroType> branches = new ArrayList<>();
+            for (JsonNode branch : schema) {
+                branches.add(parse(branch, namedTypes, namespace));
+            }
+            return new UnionType(branches);
+        }
+
+        if (!schema.isObject()) {
+            throw new IOException("invalid Avro schema " + schema);
+        }
+
+        JsonNode type = schema.path("type");
+        if (!type.isTextual()) {
+            return parse(type, namedTypes, namespace);
+        }
+
+        switch (type.asText()) {
+            case "array":
+                return new ArrayType(
+                        parse(schema.path("items"), namedTypes, namespace));
+            case "map":
+                return new MapType(
+                        parse(schema.path("values"), namedTypes, namespace));
+            case "record":
+            case "error":
+                return parseRecord(schema, namedTypes, namespace);
+            case "enum": {
+                String fullName = fullName(schema, namespace);
+                List<String> symbols = new ArrayList<>();
+                for (JsonNode symbol : schema.path("symbols")) {
+                    symbols.add(symbol.asText());
+                }
+                AvroType enumType = new EnumType(fullName, symbols);
+                namedTypes.put(fullName, enumType);
+                return enumType;
+            }
+            case "fixed": {
+                String fullName = fullName(schema, namespace);
+                AvroType fixedType =
+                        new FixedType(fullName, schema.path("size").asInt());
+                namedTypes.put(fullName, fixedType);
+                return fixedType;
+            }
+            default:
+                return parseTypeName(type.asText(), namedTypes, namespace);
+        }
+    }
+
+    private static RecordType parseRecord(JsonNode schema,
+                                          Map<String, AvroType> namedTypes,
+                                          @Nullable String namespace)
+            throws IOException {
+        String fullName = fullName(schema, namespace);
+        int dot = fullName.lastIndexOf('.');
+        String recordNamespace = dot >= 0 ? fullName.substring(0, dot) : null;
+
+        // Registered before parsing the fields for recursive types.
+        RecordType recordType = new RecordType(fullName);
+        namedTypes.put(fullName, recordType);
+        for (JsonNode field : schema.path("fields")) {
+            String name = field.path("name").asText();
+            String binName = field.path("bin").asText(name);
+            recordType.fields.add(new Field(name, binName,
+                    parse(field.path("type"), namedTypes, recordNamespace)));
+        }
+        return recordType;
+    }
+
+    private static AvroType parseTypeName(String name,
+                                          Map<String, AvroType> namedTypes,
+                                          @Nullable String namespace)
+            throws IOException {
+        switch (name) {
+            case "null":
+                return NULL;
+            case "boolean":
+                return BOOLEAN;
+            case "int":
+                return INT;
+            case "long":
+                return LONG;
+            case "float":
+                return FLOAT;
+            case "double":
+                return DOUBLE;
+            case "bytes":
+                return BYTES;
+            case "string":
+                return STRING;
+            default:
+                AvroType namedType = namedTypes.get(name);
+                if (namedType == null && namespace != null) {
+                    namedType = namedTypes.get(namespace + "." + name);
+                }
+
+                if (namedType == null) {
+                    throw new IOException("unknown Avro type " + name);
+                }
+                return namedType;
+        }
+    }
+
+    private static String fullName(JsonNode schema,
+                                   @Nullable String namespace)
+            throws IOException {
+        String name = schema.path("name").asText(null);
+        if (name == null) {
+            throw new IOException("missing name in Avro schema " + schema);
+        }
+
+        if (name.contains(".")) {
+            return name;
+        }
+
+        String typeNamespace = schema.path("namespace").asText(namespace);
+        return typeNamespace == null || typeNamespace.isEmpty() ? name :
+                typeNamespace + "." + name;
+    }
+
+    /**
+     * Infer the type of a value.
+     */
+    static AvroType infer(@Nullable Object value) throws IOException {
+        value = normalize(value);
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN;
+        } else if (isIntegral(value)) {
+            return LONG;
+        } else if (value instanceof Double || value instanceof Float) {
+            return DOUBLE;
+        } else if (value instanceof byte[]) {
+            return BYTES;
+        } else if (value instanceof String) {
+            return STRING;
+        } else if (value instanceof Collection) {
+            return new ArrayType(inferElements((Collection<?>) value));
+        } else if (value instanceof Map) {
+            return new MapType(inferElements(((Map<?, ?>) value).values()));
+        }
+
+        throw new IOException(
+                "unsupported bin value type " + value.getClass());
+    }
+
+    private static AvroType inferElements(Collection<?> elements)
+            throws IOException {
+        AvroType type = null;
+        for (Object element : elements) {
+            AvroType elementType = infer(element);
+            type = type == null ? elementType : merge(type, elementType);
+        }
+        return type != null ? type : NULL;
+    }
+
+    /**
+     * Merge two inferred types into a type matching the values of both.
+     */
+    static AvroType merge(@NonNull AvroType a, @NonNull AvroType b) {
+        List<AvroType> branches = new ArrayList<>(branchesOf(a));
+        for (AvroType branch : branchesOf(b)) {
+            int index = indexOfKind(branches, branch.getKind());
+            if (index < 0) {
+                branches.add(branch);
+            } else if (branch.getKind() == Kind.ARRAY) {
+                branches.set(index, new ArrayType(merge(
+                        ((ArrayType) branches.get(index)).items,
+                        ((ArrayType) branch).items)));
+            } else if (branch.getKind() == Kind.MAP) {
+                branches.set(index, new MapType(merge(
+                        ((MapType) branches.get(index)).values,
+                        ((MapType) branch).values)));
+            }
+        }
+
+        if (branches.size() == 1) {
+            return branches.get(0);
+        }
+
+        // Nullable unions conventionally list null first.
+        int nullIndex = indexOfKind(branches, Kind.NULL);
+        if (nullIndex > 0) {
+            branches.add(0, branches.remove(nullIndex));
+        }
+        return new UnionType(branches);
+    }
+
+    private static List<AvroType> branchesOf(AvroType type) {
+        return type.getKind() == Kind.UNION ? ((UnionType) type).branches :
+                Collections.singletonList(type);
+    }
+
+    private static int indexOfKind(List<AvroType> types, Kind kind) {
+        for (int i = 0; i < types.size(); i++) {
+            if (types.get(i).getKind() == kind) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a valid Avro name for an Aerospike name.
+     */
+    static String toAvroName(String name) {
+        StringBuilder avroName = new StringBuilder(name.length() + 1);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') ||
+                    c == '_' || (i > 0 && c >= '0' && c <= '9');
+            if (!valid && i == 0 && c >= '0' && c <= '9') {
+                avroName.append('_').append(c);
+            } else {
+                avroName.append(valid ? c : '_');
+            }
+        }
+        return avroName.length() > 0 ? avroName.toString() : "_";
+    }
+
+    @AllArgsConstructor
+    private static class PrimitiveType extends AvroType {
+        @Getter
+        private final Kind kind;
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            switch (kind) {
+                case NULL:
+                    return value == null;
+                case BOOLEAN:
+                    return value instanceof Boolean;
+                case INT:
+                    if (exact) {
+                        return value instanceof Integer ||
+                                value instanceof Short ||
+                                value instanceof Byte;
+                    }
+                    return isIntegral(value) &&
+                            ((Number) value).longValue() ==
+                                    ((Number) value).intValue();
+                case LONG:
+                    return exact ? value instanceof Long : isIntegral(value);
+                case FLOAT:
+                    return value instanceof Float ||
+                            (!exact && value instanceof Double);
+                case DOUBLE:
+                    return value instanceof Double ||
+                            (!exact && value instanceof Float);
+                case BYTES:
+                    return value instanceof byte[];
+                default:
+                    return value instanceof String;
+            }
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            if (!matches(value, false)) {
+                throw mismatch(value);
+            }
+
+            switch (kind) {
+                case NULL:
+                    break;
+                case BOOLEAN:
+                    encoder.writeBoolean((Boolean) value);
+                    break;
+                case INT:
+                case LONG:
+                    encoder.writeLong(((Number) value).longValue());
+                    break;
+                case FLOAT:
+                    encoder.writeFloat(((Number) value).floatValue());
+                    break;
+                case DOUBLE:
+                    encoder.writeDouble(((Number) value).doubleValue());
+                    break;
+                case BYTES:
+                    encoder.writeBytes((byte[]) value);
+                    break;
+                default:
+                    encoder.writeString((String) value);
+            }
+        }
+
+        @Override
+        JsonNode toJson() {
+            return nodeFactory.textNode(kind.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @AllArgsConstructor
+    private static class EnumType extends AvroType {
+        private final String fullName;
+
+        private final List<String> symbols;
+
+        @Override
+        Kind getKind() {
+            return Kind.ENUM;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return value instanceof String && symbols.contains(value);
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            int index = value instanceof String ? symbols.indexOf(value) : -1;
+            if (index < 0) {
+                throw mismatch(value);
+            }
+            encoder.writeLong(index);
+        }
+
+        @Override
+        JsonNode toJson() {
+            ObjectNode schema = nodeFactory.objectNode()
+                    .put("type", "enum")
+                    .put("name", fullName);
+            ArrayNode symbolsNode = schema.putArray("symbols");
+            symbols.forEach(symbolsNode::add);
+            return schema;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class FixedType extends AvroType {
+        private final String fullName;
+
+        private final int size;
+
+        @Override
+        Kind getKind() {
+            return Kind.FIXED;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return value instanceof byte[] && ((byte[]) value).length == size;
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            if (!matches(value, false)) {
+                throw mismatch(value);
+            }
+            encoder.writeFixed((byte[]) value);
+        }
+
+        @Override
+        JsonNode toJson() {
+            return nodeFactory.objectNode()
+                    .put("type", "fixed")
+                    .put("name", fullName)
+                    .put("size", size);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class ArrayType extends AvroType {
+        private final AvroType items;
+
+        @Override
+        Kind getKind() {
+            return Kind.ARRAY;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return value instanceof Collection;
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            if (!(value instanceof Collection)) {
+                throw mismatch(value);
+            }
+
+            Collection<?> collection = (Collection<?>) value;
+            if (!collection.isEmpty()) {
+                encoder.writeLong(collection.size());
+                for (Object element : collection) {
+                    items.write(encoder, element);
+                }
+            }
+            encoder.writeLong(0);
+        }
+
+        @Override
+        JsonNode toJson() {
+            ObjectNode schema = nodeFactory.objectNode().put("type", "array");
+            schema.set("items", items.toJson());
+            return schema;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class MapType extends AvroType {
+        private final AvroType values;
+
+        @Override
+        Kind getKind() {
+            return Kind.MAP;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return value instanceof Map;
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            if (!(value instanceof Map)) {
+                throw mismatch(value);
+            }
+
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (!map.isEmpty()) {
+                encoder.writeLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    encoder.writeString(String.valueOf(entry.getKey()));
+                    values.write(encoder, entry.getValue());
+                }
+            }
+            encoder.writeLong(0);
+        }
+
+        @Override
+        JsonNode toJson() {
+            ObjectNode schema = nodeFactory.objectNode().put("type", "map");
+            schema.set("values", values.toJson());
+            return schema;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class UnionType extends AvroType {
+        private final List<AvroType> branches;
+
+        @Override
+        Kind getKind() {
+            return Kind.UNION;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return indexOf(value) >= 0;
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            int index = indexOf(value);
+            if (index < 0) {
+                throw mismatch(value);
+            }
+
+            encoder.writeLong(index);
+            branches.get(index).writeNormalized(encoder, value);
+        }
+
+        private int indexOf(@Nullable Object value) {
+            for (int i = 0; i < branches.size(); i++) {
+                if (branches.get(i).matches(value, true)) {
+                    return i;
+                }
+            }
+
+            for (int i = 0; i < branches.size(); i++) {
+                if (branches.get(i).matches(value, false)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        JsonNode toJson() {
+            ArrayNode schema = nodeFactory.arrayNode();
+            for (AvroType branch : branches) {
+                schema.add(branch.toJson());
+            }
+            return schema;
+        }
+    }
+
+    /**
+     * A field of a record, written from the bin or map entry of the same name.
+     */
+    @AllArgsConstructor
+    static class Field {
+        private final String name;
+
+        private final String binName;
+
+        private final AvroType type;
+    }
+
+    static class RecordType extends AvroType {
+        private final String fullName;
+
+        private final List<Field> fields = new ArrayList<>();
+
+        RecordType(String fullName) {
+            this.fullName = fullName;
+        }
+
+        /**
+         * Infer a record type with a nullable field for each bin.
+         */
+        static RecordType infer(@NonNull String fullName,
+                                @NonNull Map<String, Object> bins)
+                throws IOException {
+            return new RecordType(fullName).mergeBins(bins);
+        }
+
+        /**
+         * Merge the types inferred from the bins with the fields of this
+         * inferred record type. New bins are appended as nullable fields.
+         */
+        RecordType mergeBins(@NonNull Map<String, Object> bins)
+                throws IOException {
+            RecordType merged = new RecordType(fullName);
+            Set<String> names = new HashSet<>();
+            for (Field field : fields) {
+                AvroType type = bins.containsKey(field.binName) ?
+                        merge(field.type, infer(bins.get(field.binName))) :
+                        field.type;
+                merged.fields.add(new Field(field.name, field.binName, type));
+                names.add(field.name);
+            }
+
+            for (Map.Entry<String, Object> bin : bins.entrySet()) {
+                if (merged.indexOfBin(bin.getKey()) >= 0) {
+                    continue;
+                }
+
+                String name = toAvroName(bin.getKey());
+                for (int i = 1; !names.add(name); i++) {
+                    name = toAvroName(bin.getKey()) + "_" + i;
+                }
+
+                merged.fields.add(new Field(name, bin.getKey(),
+                        merge(NULL, infer(bin.getValue()))));
+            }
+            return merged;
+        }
+
+        /**
+         * Write the bins as this record.
+         *
+         * @param strict whether bins without a field are a mismatch rather
+         *               than ignored.
+         */
+        void writeBins(AvroBinaryEncoder encoder,
+                       Map<String, Object> bins, boolean strict)
+                throws MismatchException {
+            int written = 0;
+            for (Field field : fields) {
+                Object value = bins.get(field.binName);
+                if (value != null || bins.containsKey(field.binName)) {
+                    written++;
+                }
+                field.type.write(encoder, value);
+            }
+
+            if (strict && written < bins.size()) {
+                throw new MismatchException("bins without fields in " +
+                        fullName);
+            }
+        }
+
+        private int indexOfBin(String binName) {
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i).binName.equals(binName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.RECORD;
+        }
+
+        @Override
+        boolean matches(@Nullable Object value, boolean exact) {
+            return value instanceof Map;
+        }
+
+        @Override
+        void writeNormalized(AvroBinaryEncoder encoder,
+                             @Nullable Object value) throws MismatchException {
+            if (!(value instanceof Map)) {
+                throw mismatch(value);
+            }
+
+            Map<?, ?> map = (Map<?, ?>) value;
+            for (Field field : fields) {
+                field.type.write(encoder, map.get(field.binName));
+            }
+        }
+
+        @Override
+        JsonNode toJson() {
+            ObjectNode schema = nodeFactory.objectNode()
+                    .put("type", "record")
+                    .put("name", fullName);
+            ArrayNode fieldsNode = schema.putArray("fields");
+            for (Field field : fields) {
+                ObjectNode fieldNode = fieldsNode.addObject()
+                        .put("name", field.name);
+                fieldNode.set("type", field.type.toJson());
+                if (!field.name.equals(field.binName)) {
+                    fieldNode.put("bin", field.binName);
+                }
+            }
+            return schema;
+        }
+    }
+}
@@ -34,6 +34,10 @@ import java.util.List;
  * Processing) destination, {@link PulsarOutboundMetadata} for Pulsar
  * destination, etc.
  *
+ * <p>
+ * Formatters encoding the batch items one at a time can implement {@link
+ * IncrementalBatchFormatter} to format the items as they arrive.
+ *
  * @param <T> the metadata associated with the outbound records.
  */
 public interface BatchFormatter<T extends OutboundMetadata> {
@@ -25,6 +25,9 @@ import java.util.Optional;
  *
  * @param <T> the type of metadata associated with the outbound record.
  * @see DefaultBytesOutboundRecord
+ * @see PooledBytesOutboundRecord
+ * @see CompositeBytesOutboundRecord
+ * @see CompressedBytesOutboundRecord
  */
 public interface BytesOutboundRecord<T extends OutboundMetadata>
         extends OutboundRecord<T> {
@@ -35,4 +38,17 @@ public interface BytesOutboundRecord<T extends OutboundMetadata>
      * @return the payload associated with the outbound record.
      */
     Optional<byte[]> getPayload();
+
+    /**
+     * Get the content encoding of the payload, like {@code gzip}, when the
+     * payload is compressed. Connectors pass it to the outbound destinations
+     * supporting it, for example as the Content-Encoding header of HTTP
+     * requests.
+     *
+     * @return the content encoding of the payload, empty if the payload is
+     * not encoded.
+     */
+    default Optional<String> getContentEncoding() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CompositeBytesOutboundRecord represents an outbound record with payload as
+ * a sequence of byte segments.
+ *
+ * <p>
+ * The payload is the concatenation of the remaining bytes of the segments.
+ * The connector writes the segments to the outbound destination one after the
+ * other without concatenating them, so formatters can wrap the built-in
+ * payload with a prefix and a suffix without copying or parsing it. For
+ * example, to envelope the built-in JSON payload
+ * <pre>
+ * byte[] payload = builtinRecord.getPayload().orElseThrow();
+ * byte[] prefix = ("{\"timestamp\":" + System.currentTimeMillis() +
+ *         ",\"record\":").getBytes(StandardCharsets.UTF_8);
+ * byte[] suffix = "}".getBytes(StandardCharsets.UTF_8);
+ * return DefaultCompositeBytesOutboundRecord.of(MediaType.JSON,
+ *         builtinRecord.getMetadata(), prefix, payload, suffix);
+ * </pre>
+ *
+ * @param <T> the type of metadata associated with the outbound record.
+ * @see DefaultCompositeBytesOutboundRecord
+ */
+public interface CompositeBytesOutboundRecord<T extends OutboundMetadata>
+        extends BytesOutboundRecord<T> {
+    /**
+     * Get the segments of the payload. The segments should not be modified,
+     * the payload is the remaining bytes of each segment in order.
+     *
+     * @return the segments of the payload.
+     */
+    @NonNull
+    List<ByteBuffer> getPayloadSegments();
+
+    /**
+     * Get the length of the payload.
+     *
+     * @return the total remaining bytes of the segments.
+     */
+    default int getPayloadLength() {
+        int length = 0;
+        for (ByteBuffer segment : getPayloadSegments()) {
+            length += segment.remaining();
+        }
+        return length;
+    }
+
+    /**
+     * Get the payload concatenated into a single array. Prefer writing the
+     * {@link #getPayloadSegments() segments} to avoid the copy.
+     *
+     * @return the concatenated payload.
+     */
+    @Override
+    default Optional<byte[]> getPayload() {
+        byte[] payload = new byte[getPayloadLength()];
+        int offset = 0;
+        for (ByteBuffer segment : getPayloadSegments()) {
+            int length = segment.remaining();
+            segment.duplicate().get(payload, offset, length);
+            offset += length;
+        }
+        return Optional.of(payload);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link BytesOutboundRecord} with a compressed payload.
+ *
+ * @param <T> the type of metadata associated with the outbound record.
+ * @see CompressingBatchFormatter
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@ToString
+public class CompressedBytesOutboundRecord<T extends OutboundMetadata>
+        implements BytesOutboundRecord<T> {
+    @NonNull
+    private final byte[] payload;
+
+    /**
+     * @return the media type of the payload before compression.
+     */
+    @NonNull
+    private final String mediaType;
+
+    @NonNull
+    private final T metadata;
+
+    @Nullable
+    private final Set<Object> ignoreErrors;
+
+    @NonNull
+    private final String contentEncoding;
+
+    /**
+     * The id of the dictionary the payload is compressed with, {@code null}
+     * if compressed without a dictionary.
+     */
+    @Nullable
+    private final Long dictionaryId;
+
+    @Override
+    public Optional<byte[]> getPayload() {
+        return Optional.of(payload);
+    }
+
+    @NonNull
+    @Override
+    public Set<Object> getIgnoreErrors() {
+        return ignoreErrors != null ? ignoreErrors : Collections.emptySet();
+    }
+
+    @Override
+    public Optional<String> getContentEncoding() {
+        return Optional.of(contentEncoding);
+    }
+
+    /**
+     * @return the id of the dictionary the payload is compressed with, empty
+     * if compressed without a dictionary.
+     */
+    public Optional<Long> getDictionaryId() {
+        return Optional.ofNullable(dictionaryId);
+    }
+}
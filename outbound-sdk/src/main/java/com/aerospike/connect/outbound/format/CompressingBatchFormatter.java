@@ -0,0 +1,370 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link BatchFormatter} compressing the payloads of the outbound records
+ * formatted by another batch formatter.
+ *
+ * <p>
+ * With a {@link PayloadDictionaryRegistry}, records formatted from batches
+ * of records of a single namespace and set are compressed with a dictionary
+ * of that set, when the compressor {@link
+ * PayloadCompressor#supportsDictionary() supports dictionaries}. The
+ * dictionary of a set is {@link PayloadCompressor#buildDictionary built} from
+ * bounded slices of the payloads of the first batches of the set, which are
+ * compressed without a dictionary, and is fixed once built. With the default
+ * implementation it is a priming dictionary of recent payload bytes for later
+ * payloads to refer to, not a trained one. It is registered before any
+ * payload is compressed with it, and
+ * loaded back from the registry after a restart. Consumers get the
+ * dictionaries from the registry, and pick the dictionary of a payload by
+ * its {@link CompressedBytesOutboundRecord#getDictionaryId() id}. The
+ * payloads compressed with a dictionary have the {@link
+ * PayloadCompressor#getDictionaryContentEncoding() dictionary content
+ * encoding}, so that consumers unaware of the dictionaries do not mistake
+ * them for standard payloads. Dictionaries make small payloads of
+ * repetitive records compress well.
+ *
+ * <p>
+ * The payloads smaller than the minimum payload size, or not smaller once
+ * compressed, are dispatched uncompressed. The compressed payloads are
+ * returned as {@link CompressedBytesOutboundRecord} with the media type of the
+ * uncompressed payload and the content encoding of the compressor; text
+ * records are returned as bytes records once compressed.
+ *
+ * <p>
+ * Plugins wrap their batch formatter, for example
+ * <pre>
+ * public class CompressedKafkaBatchFormatter
+ *         extends CompressingBatchFormatter&lt;KafkaOutboundMetadata&gt; {
+ *     public CompressedKafkaBatchFormatter() {
+ *         super(new KafkaBatchFormatter(), new DeflatePayloadCompressor());
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the metadata associated with the outbound records.
+ */
+public class CompressingBatchFormatter<T extends OutboundMetadata>
+        implements BatchFormatter<T> {
+    /**
+     * The default size below which payloads are not compressed.
+     */
+    public static final int DEFAULT_MIN_PAYLOAD_SIZE = 64;
+
+    /**
+     * The default maximum size of a dictionary, the deflate window size.
+     */
+    public static final int DEFAULT_MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * The default number of payload bytes of a set sampled before its
+     * dictionary is built.
+     */
+    public static final int DEFAULT_DICTIONARY_SAMPLE_SIZE = 128 * 1024;
+
+    /**
+     * The number of slices a dictionary is divided in, a sampled payload
+     * contributes a slice of at most the dictionary size divided by this.
+     */
+    private static final int DICTIONARY_SLICES = 16;
+
+    @NonNull
+    private final BatchFormatter<T> delegate;
+
+    @NonNull
+    private final PayloadCompressor compressor;
+
+    /**
+     * The registry of the dictionaries, {@code null} to compress without
+     * dictionaries.
+     */
+    @Nullable
+    private final PayloadDictionaryRegistry registry;
+
+    private final int minPayloadSize;
+
+    private final int maxDictionarySize;
+
+    private final int dictionarySampleSize;
+
+    /**
+     * The dictionaries by set, keyed by {@code <namespace>.<set>}.
+     */
+    private final Map<String, Dictionary> dictionaries =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Create a formatter compressing without dictionaries, with the default
+     * sizes.
+     *
+     * @param delegate   the formatter of the uncompressed records.
+     * @param compressor the compressor of the payloads.
+     */
+    public CompressingBatchFormatter(@NonNull BatchFormatter<T> delegate,
+                                     @NonNull PayloadCompressor compressor) {
+        this(delegate, compressor, null);
+    }
+
+    /**
+     * Create a formatter with the default sizes.
+     *
+     * @param delegate   the formatter of the uncompressed records.
+     * @param compressor the compressor of the payloads.
+     * @param registry   the registry of the dictionaries, {@code null} to
+     *                   compress without dictionaries.
+     */
+    public CompressingBatchFormatter(
+            @NonNull BatchFormatter<T> delegate,
+            @NonNull PayloadCompressor compressor,
+            @Nullable PayloadDictionaryRegistry registry) {
+        this(delegate, compressor, registry, DEFAULT_MIN_PAYLOAD_SIZE,
+                DEFAULT_MAX_DICTIONARY_SIZE, DEFAULT_DICTIONARY_SAMPLE_SIZE);
+    }
+
+    /**
+     * Create a formatter.
+     *
+     * @param delegate             the formatter of the uncompressed records.
+     * @param compressor           the compressor of the payloads.
+     * @param registry             the registry of the dictionaries,
+     *                             {@code null} to compress without
+     *                             dictionaries.
+     * @param minPayloadSize       the size below which payloads are not
+     *                             compressed.
+     * @param maxDictionarySize    the maximum size of a dictionary, 0 to
+     *                             compress without dictionaries.
+     * @param dictionarySampleSize the number of payload bytes of a set
+     *                             sampled before its dictionary is built.
+     */
+    public CompressingBatchFormatter(
+            @NonNull BatchFormatter<T> delegate,
+            @NonNull PayloadCompressor compressor,
+            @Nullable PayloadDictionaryRegistry registry,
+            int minPayloadSize,
+            int maxDictionarySize,
+            int dictionarySampleSize) {
+        this.delegate = delegate;
+        this.compressor = compressor;
+        this.registry = registry;
+        this.minPayloadSize = minPayloadSize;
+        this.maxDictionarySize = maxDictionarySize;
+        this.dictionarySampleSize = dictionarySampleSize;
+    }
+
+    @Override
+    public List<OutboundRecord<T>> format(
+            @NonNull List<BatchItem<T>> batchItems) throws Exception {
+        List<OutboundRecord<T>> records = delegate.format(batchItems);
+        Dictionary dictionary = getBatchDictionary(batchItems);
+        if (dictionary != null) {
+            dictionary.load();
+        }
+
+        List<OutboundRecord<T>> compressedRecords =
+                new ArrayList<>(records.size());
+        for (OutboundRecord<T> record : records) {
+            compressedRecords.add(record instanceof BytesOutboundRecord ?
+                    compress((BytesOutboundRecord<T>) record, dictionary) :
+                    record);
+        }
+        return compressedRecords;
+    }
+
+    /**
+     * Get the dictionary of a set.
+     *
+     * @param namespace the namespace.
+     * @param setName   the set, {@code null} for records without a set.
+     * @return a copy of the dictionary, empty if not built or loaded yet.
+     */
+    public Optional<byte[]> getDictionary(@NonNull String namespace,
+                                          @Nullable String setName) {
+        Dictionary dictionary =
+                dictionaries.get(dictionaryKey(namespace, setName));
+        byte[] bytes = dictionary != null ? dictionary.bytes : null;
+        return Optional.ofNullable(bytes != null ? bytes.clone() : null);
+    }
+
+    private OutboundRecord<T> compress(BytesOutboundRecord<T> record,
+                                       @Nullable Dictionary dictionary)
+            throws Exception {
+        if (record.getContentEncoding().isPresent()) {
+            return record;
+        }
+
+        byte[] payload = record.getPayload().orElse(null);
+        if (payload == null || payload.length < minPayloadSize) {
+            return record;
+        }
+
+        byte[] dictionaryBytes = null;
+        if (dictionary != null) {
+            dictionaryBytes = dictionary.bytes;
+            if (dictionaryBytes == null) {
+                dictionary.sample(payload);
+            }
+        }
+
+        byte[] compressed = compressor.compress(payload, dictionaryBytes);
+        if (compressed.length >= payload.length) {
+            return record;
+        }
+
+        if (record instanceof PooledBytesOutboundRecord) {
+            ((PooledBytesOutboundRecord<T>) record).release();
+        }
+
+        return new CompressedBytesOutboundRecord<>(compressed,
+                record.getMediaType(), record.getMetadata(),
+                record.getIgnoreErrors(), dictionaryBytes != null ?
+                compressor.getDictionaryContentEncoding() :
+                compressor.getContentEncoding(),
+                dictionaryBytes != null ? dictionary.id : null);
+    }
+
+    /**
+     * Get the dictionary of the set of the batch, {@code null} if the batch
+     * has records of several sets or dictionaries are not used.
+     */
+    @Nullable
+    private Dictionary getBatchDictionary(List<BatchItem<T>> batchItems) {
+        if (registry == null || maxDictionarySize <= 0 ||
+                !compressor.supportsDictionary() || batchItems.isEmpty()) {
+            return null;
+        }
+
+        Key key = batchItems.get(0).getRecord().getMetadata().getKey();
+        for (BatchItem<T> batchItem : batchItems) {
+            Key itemKey = batchItem.getRecord().getMetadata().getKey();
+            if (!itemKey.namespace.equals(key.namespace) ||
+                    !Objects.equals(itemKey.setName, key.setName)) {
+                return null;
+            }
+        }
+
+        return dictionaries.computeIfAbsent(
+                dictionaryKey(key.namespace, key.setName), Dictionary::new);
+    }
+
+    private static String dictionaryKey(String namespace,
+                                        @Nullable String setName) {
+        return setName == null ? namespace : namespace + "." + setName;
+    }
+
+    /**
+     * The dictionary of a set, loaded from the registry or sampling payloads
+     * until built.
+     */
+    private class Dictionary {
+        /**
+         * The subject of the set in the registry.
+         */
+        private final String subject;
+
+        /**
+         * The slices of the most recent sampled payloads, oldest first, at
+         * most the maximum dictionary size in total.
+         */
+        private final Deque<byte[]> slices = new ArrayDeque<>();
+
+        private int sliceBytes;
+
+        private int sampledBytes;
+
+        private volatile boolean loaded;
+
+        @Nullable
+        private volatile byte[] bytes;
+
+        private volatile long id;
+
+        Dictionary(String subject) {
+            this.subject = subject;
+        }
+
+        /**
+         * Load the dictionary registered before a restart, once.
+         */
+        void load() throws IOException {
+            if (loaded) {
+                return;
+            }
+
+            synchronized (this) {
+                if (loaded) {
+                    return;
+                }
+
+                byte[] dictionary =
+                        registry.getDictionary(subject).orElse(null);
+                if (dictionary != null) {
+                    id = compressor.getDictionaryId(dictionary);
+                    bytes = dictionary;
+                }
+                loaded = true;
+            }
+        }
+
+        synchronized void sample(byte[] payload) throws IOException {
+            if (bytes != null) {
+                return;
+            }
+
+            int sliceSize = Math.min(payload.length,
+                    Math.max(1, maxDictionarySize / DICTIONARY_SLICES));
+            slices.addLast(Arrays.copyOf(payload, sliceSize));
+            sliceBytes += sliceSize;
+            while (sliceBytes > maxDictionarySize) {
+                sliceBytes -= slices.removeFirst().length;
+            }
+
+            sampledBytes += payload.length;
+            if (sampledBytes < dictionarySampleSize) {
+                return;
+            }
+
+            byte[] dictionary = compressor.buildDictionary(
+                    new ArrayList<>(slices), maxDictionarySize);
+            long dictionaryId = compressor.getDictionaryId(dictionary);
+
+            // Consumers should find the dictionary before any payload.
+            registry.register(subject, dictionaryId, dictionary);
+            id = dictionaryId;
+            bytes = dictionary;
+            slices.clear();
+        }
+    }
+}
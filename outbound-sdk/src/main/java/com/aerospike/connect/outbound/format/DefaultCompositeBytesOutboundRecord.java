@@ -0,0 +1,97 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A default implementation of {@link CompositeBytesOutboundRecord}.
+ *
+ * @param <T> the type of metadata associated with the outbound record.
+ */
+@EqualsAndHashCode
+@Getter
+@ToString
+public class DefaultCompositeBytesOutboundRecord<T extends OutboundMetadata>
+        implements CompositeBytesOutboundRecord<T> {
+    @NonNull
+    private final List<ByteBuffer> payloadSegments;
+
+    @NonNull
+    private final String mediaType;
+
+    @NonNull
+    private final T metadata;
+
+    @Nullable
+    private final Set<Object> ignoreErrors;
+
+    public DefaultCompositeBytesOutboundRecord(
+            @NonNull List<ByteBuffer> payloadSegments,
+            @NonNull String mediaType, @NonNull T metadata,
+            @Nullable Set<Object> ignoreErrors) {
+        List<ByteBuffer> segments = new ArrayList<>(payloadSegments.size());
+        for (ByteBuffer segment : payloadSegments) {
+            segments.add(segment.asReadOnlyBuffer());
+        }
+
+        this.payloadSegments = Collections.unmodifiableList(segments);
+        this.mediaType = mediaType;
+        this.metadata = metadata;
+        this.ignoreErrors = ignoreErrors;
+    }
+
+    /**
+     * Create a record with the byte arrays as the payload segments. The
+     * arrays are not copied and should not be modified.
+     *
+     * @param mediaType the media type of the payload.
+     * @param metadata  the metadata of the outbound record.
+     * @param segments  the segments of the payload.
+     * @param <T>       the type of metadata of the outbound record.
+     * @return the outbound record.
+     */
+    public static <T extends OutboundMetadata>
+    DefaultCompositeBytesOutboundRecord<T> of(@NonNull String mediaType,
+                                              @NonNull T metadata,
+                                              @NonNull byte[]... segments) {
+        List<ByteBuffer> payloadSegments = new ArrayList<>(segments.length);
+        for (byte[] segment : segments) {
+            payloadSegments.add(ByteBuffer.wrap(segment));
+        }
+        return new DefaultCompositeBytesOutboundRecord<>(payloadSegments,
+                mediaType, metadata, null);
+    }
+
+    @NonNull
+    @Override
+    public Set<Object> getIgnoreErrors() {
+        return ignoreErrors != null ? ignoreErrors : Collections.emptySet();
+    }
+}
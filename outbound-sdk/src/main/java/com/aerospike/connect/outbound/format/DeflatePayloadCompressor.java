@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Compress payloads in the zlib format, the {@code deflate} HTTP content
+ * encoding, optionally with a preset dictionary.
+ *
+ * <p>
+ * A payload compressed with a dictionary has the {@code x-deflate-dict}
+ * content encoding and carries the Adler-32 checksum of the dictionary in its
+ * zlib header; consumers decompress it with {@link
+ * java.util.zip.Inflater#setDictionary} after {@link
+ * java.util.zip.Inflater#needsDictionary} returns true. Deflate uses at most
+ * the last 32 KiB of a dictionary.
+ *
+ * <p>
+ * Each thread reuses its own {@link Deflater}, reset after each payload,
+ * instead of allocating and freeing the native zlib state per payload.
+ */
+public class DeflatePayloadCompressor implements PayloadCompressor {
+    /**
+     * The compression level, 0-9.
+     */
+    @Getter
+    private final int level;
+
+    private final ThreadLocal<Deflater> deflaters;
+
+    public DeflatePayloadCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public DeflatePayloadCompressor(int level) {
+        this.level = level;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level));
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return "deflate";
+    }
+
+    @Override
+    public boolean supportsDictionary() {
+        return true;
+    }
+
+    @Override
+    public byte[] compress(@NonNull byte[] payload,
+                           @Nullable byte[] dictionary) {
+        Deflater deflater = deflaters.get();
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(payload);
+            deflater.finish();
+            return drain(deflater, payload.length);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    static byte[] drain(Deflater deflater, int payloadLength) {
+        ByteArrayOutputStream out =
+                new ByteArrayOutputStream(Math.max(64, payloadLength / 2));
+        byte[] chunk = new byte[Math.max(64, Math.min(payloadLength, 8192))];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            out.write(chunk, 0, length);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link AvroSchemaRegistry} storing the schemas in a local directory, for
+ * development and for outbound destinations without a schema registry.
+ *
+ * <p>
+ * The latest schema of a subject is stored in {@code <subject>.avsc} in the
+ * directory; schemas can be provided up front by placing them there. The
+ * registered schemas are stored by id in {@code ids/<id>.avsc}, and their ids
+ * are kept across restarts. Characters other than letters, digits, '.', '_'
+ * and '-' in subjects are escaped in file names as '%' followed by the two
+ * hex digits of each of their UTF-8 bytes, so distinct subjects never share
+ * a file.
+ *
+ * <p>
+ * The registry should be the only writer to the directory. This class is
+ * thread safe.
+ */
+public class FileAvroSchemaRegistry implements AvroSchemaRegistry {
+    private static final String SCHEMA_FILE_SUFFIX = ".avsc";
+
+    @NonNull
+    private final Path directory;
+
+    @NonNull
+    private final Path idsDirectory;
+
+    /**
+     * The registered schemas to their ids.
+     */
+    private final Map<String, Integer> schemaIds = new HashMap<>();
+
+    private int nextId = 1;
+
+    /**
+     * Create a registry, loading the schemas registered earlier.
+     *
+     * @param directory the directory storing the schemas, created if absent.
+     * @throws IOException if failed to read the registered schemas.
+     */
+    public FileAvroSchemaRegistry(@NonNull Path directory) throws IOException {
+        this.directory = directory;
+        this.idsDirectory = directory.resolve("ids");
+        Files.createDirectories(idsDirectory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                idsDirectory, "*" + SCHEMA_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int id;
+                try {
+                    id = Integer.parseInt(name.substring(0,
+                            name.length() - SCHEMA_FILE_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+
+                schemaIds.put(read(file), id);
+                nextId = Math.max(nextId, id + 1);
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> getSchema(@NonNull String subject)
+            throws IOException {
+        Path file = subjectFile(subject);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(read(file));
+    }
+
+    @Override
+    public synchronized int register(@NonNull String subject,
+                                     @NonNull String schema)
+            throws IOException {
+        String normalizedSchema = schema.trim();
+        Integer id = schemaIds.get(normalizedSchema);
+        if (id == null) {
+            id = nextId;
+            write(idsDirectory.resolve(id + SCHEMA_FILE_SUFFIX),
+                    normalizedSchema);
+            schemaIds.put(normalizedSchema, id);
+            nextId++;
+        }
+
+        Path file = subjectFile(subject);
+        if (!Files.exists(file) || !read(file).equals(normalizedSchema)) {
+            write(file, normalizedSchema);
+        }
+        return id;
+    }
+
+    private Path subjectFile(String subject) {
+        return directory.resolve(toFileName(subject) + SCHEMA_FILE_SUFFIX);
+    }
+
+    /**
+     * Escape a subject into a file name. Letters, digits, '.', '_' and '-'
+     * are kept, other UTF-8 bytes, including '%', are written as '%' and two
+     * hex digits.
+     */
+    static String toFileName(String subject) {
+        StringBuilder fileName = new StringBuilder(subject.length());
+        for (byte b : subject.getBytes(StandardCharsets.UTF_8)) {
+            if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') ||
+                    (b >= '0' && b <= '9') || b == '.' || b == '_' ||
+                    b == '-') {
+                fileName.append((char) b);
+            } else {
+                fileName.append('%')
+                        .append(Character.toUpperCase(
+                                Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(
+                                Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return fileName.toString();
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8)
+                .trim();
+    }
+
+    private static void write(Path file, String schema) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporaryFile, schema.getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryFile, file,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
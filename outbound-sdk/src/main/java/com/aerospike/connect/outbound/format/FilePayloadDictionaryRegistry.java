@@ -0,0 +1,127 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A {@link PayloadDictionaryRegistry} storing the dictionaries in a local
+ * directory, for development and for consumers sharing a file system with
+ * the connector.
+ *
+ * <p>
+ * The latest dictionary of a subject is stored in {@code <subject>.dict} in
+ * the directory, and the registered dictionaries by id in {@code
+ * ids/<id>.dict}. Subjects are escaped in file names as in {@link
+ * FileAvroSchemaRegistry}, so distinct subjects never share a file.
+ *
+ * <p>
+ * The registry should be the only writer to the directory. This class is
+ * thread safe.
+ */
+public class FilePayloadDictionaryRegistry
+        implements PayloadDictionaryRegistry {
+    private static final String DICTIONARY_FILE_SUFFIX = ".dict";
+
+    @NonNull
+    private final Path directory;
+
+    @NonNull
+    private final Path idsDirectory;
+
+    /**
+     * Create a registry.
+     *
+     * @param directory the directory storing the dictionaries, created if
+     *                  absent.
+     * @throws IOException if failed to create the directory.
+     */
+    public FilePayloadDictionaryRegistry(@NonNull Path directory)
+            throws IOException {
+        this.directory = directory;
+        this.idsDirectory = directory.resolve("ids");
+        Files.createDirectories(idsDirectory);
+    }
+
+    @Override
+    public Optional<byte[]> getDictionary(@NonNull String subject)
+            throws IOException {
+        return read(subjectFile(subject));
+    }
+
+    @Override
+    public Optional<byte[]> getDictionary(long id) throws IOException {
+        return read(idFile(id));
+    }
+
+    @Override
+    public synchronized void register(@NonNull String subject, long id,
+                                      @NonNull byte[] dictionary)
+            throws IOException {
+        Path idFile = idFile(id);
+        Optional<byte[]> registered = read(idFile);
+        if (registered.isPresent() &&
+                !Arrays.equals(registered.get(), dictionary)) {
+            throw new IOException("another dictionary is registered with id "
+                    + id);
+        }
+
+        if (!registered.isPresent()) {
+            write(idFile, dictionary);
+        }
+
+        Path subjectFile = subjectFile(subject);
+        Optional<byte[]> latest = read(subjectFile);
+        if (!latest.isPresent() || !Arrays.equals(latest.get(), dictionary)) {
+            write(subjectFile, dictionary);
+        }
+    }
+
+    private Path subjectFile(String subject) {
+        return directory.resolve(FileAvroSchemaRegistry.toFileName(subject) +
+                DICTIONARY_FILE_SUFFIX);
+    }
+
+    private Path idFile(long id) {
+        return idsDirectory.resolve(id + DICTIONARY_FILE_SUFFIX);
+    }
+
+    private static Optional<byte[]> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(Files.readAllBytes(file));
+    }
+
+    private static void write(Path file, byte[] dictionary)
+            throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporaryFile, dictionary);
+        Files.move(temporaryFile, file,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A minimal FlatBuffers writer for the Arrow IPC metadata messages.
+ *
+ * <p>
+ * Objects are described as a tree of {@link Node Nodes} and laid out front
+ * to back: a table is written before the strings, vectors and tables it
+ * refers to, so all the offsets point forward as FlatBuffers requires. Each
+ * table is preceded by its own vtable.
+ */
+final class FlatBufferWriter {
+    private byte[] buffer = new byte[256];
+
+    private int length;
+
+    /**
+     * Write a buffer with the table as its root.
+     */
+    static byte[] finish(Table root) {
+        FlatBufferWriter writer = new FlatBufferWriter();
+        writer.reserve(4);
+        int rootPosition = root.write(writer);
+        writer.putIntAt(0, rootPosition);
+        return Arrays.copyOf(writer.buffer, writer.length);
+    }
+
+    abstract static class Node {
+        /**
+         * Write the object.
+         *
+         * @return the position of the object referred to by offsets.
+         */
+        abstract int write(FlatBufferWriter writer);
+    }
+
+    static final class Table extends Node {
+        private final List<Slot> slots = new ArrayList<>();
+
+        Table addByte(int slot, int value) {
+            slots.add(new Slot(slot, 1, value, null));
+            return this;
+        }
+
+        Table addBoolean(int slot, boolean value) {
+            return addByte(slot, value ? 1 : 0);
+        }
+
+        Table addShort(int slot, int value) {
+            slots.add(new Slot(slot, 2, value, null));
+            return this;
+        }
+
+        Table addInt(int slot, int value) {
+            slots.add(new Slot(slot, 4, value, null));
+            return this;
+        }
+
+        Table addLong(int slot, long value) {
+            slots.add(new Slot(slot, 8, value, null));
+            return this;
+        }
+
+        Table addOffset(int slot, Node node) {
+            slots.add(new Slot(slot, 4, 0, node));
+            return this;
+        }
+
+        @Override
+        int write(FlatBufferWriter writer) {
+            // Lay out the fields after the vtable offset, largest first.
+            List<Slot> inline = new ArrayList<>(slots);
+            inline.sort(Comparator.comparingInt((Slot s) -> s.size)
+                    .reversed());
+            int inlineSize = 4;
+            int slotCount = 0;
+            for (Slot slot : inline) {
+                inlineSize = alignUp(inlineSize, slot.size);
+                slot.offset = inlineSize;
+                inlineSize += slot.size;
+                slotCount = Math.max(slotCount, slot.index + 1);
+            }
+
+            writer.align(2, 0);
+            int vtablePosition = writer.length;
+            writer.putShort(4 + 2 * slotCount);
+            writer.putShort(inlineSize);
+            int[] offsets = new int[slotCount];
+            for (Slot slot : inline) {
+                offsets[slot.index] = slot.offset;
+            }
+            for (int offset : offsets) {
+                writer.putShort(offset);
+            }
+
+            writer.align(8, 0);
+            int position = writer.length;
+            writer.reserve(inlineSize);
+            writer.putIntAt(position, position - vtablePosition);
+            for (Slot slot : inline) {
+                if (slot.node == null) {
+                    writer.putAt(position + slot.offset, slot.value,
+                            slot.size);
+                }
+            }
+
+            for (Slot slot : inline) {
+                if (slot.node != null) {
+                    int childPosition = slot.node.write(writer);
+                    writer.putIntAt(position + slot.offset,
+                            childPosition - (position + slot.offset));
+                }
+            }
+            return position;
+        }
+    }
+
+    static final class StringNode extends Node {
+        private final byte[] value;
+
+        StringNode(String value) {
+            this.value = value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        int write(FlatBufferWriter writer) {
+            writer.align(4, 0);
+            int position = writer.length;
+            writer.putAt(writer.reserve(4), value.length, 4);
+            int data = writer.reserve(value.length + 1);
+            System.arraycopy(value, 0, writer.buffer, data, value.length);
+            return position;
+        }
+    }
+
+    static final class TableVector extends Node {
+        private final List<Table> tables;
+
+        TableVector(List<Table> tables) {
+            this.tables = tables;
+        }
+
+        @Override
+        int write(FlatBufferWriter writer) {
+            writer.align(4, 0);
+            int position = writer.length;
+            writer.putAt(writer.reserve(4), tables.size(), 4);
+            int elements = writer.reserve(4 * tables.size());
+            for (int i = 0; i < tables.size(); i++) {
+                int element = elements + 4 * i;
+                writer.putIntAt(element,
+                        tables.get(i).write(writer) - element);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * A vector of structs of two longs, like the Arrow FieldNode and Buffer.
+     */
+    static final class LongPairVector extends Node {
+        private final long[] values;
+
+        LongPairVector(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int write(FlatBufferWriter writer) {
+            // The structs are 8 byte aligned, after the 4 byte length.
+            writer.align(8, 4);
+            int position = writer.length;
+            writer.putAt(writer.reserve(4), values.length / 2, 4);
+            int elements = writer.reserve(8 * values.length);
+            for (int i = 0; i < values.length; i++) {
+                writer.putAt(elements + 8 * i, values[i], 8);
+            }
+            return position;
+        }
+    }
+
+    private static final class Slot {
+        private final int index;
+
+        private final int size;
+
+        private final long value;
+
+        private final Node node;
+
+        private int offset;
+
+        Slot(int index, int size, long value, Node node) {
+            this.index = index;
+            this.size = size;
+            this.value = value;
+            this.node = node;
+        }
+    }
+
+    private static int alignUp(int position, int alignment) {
+        return (position + alignment - 1) & -alignment;
+    }
+
+    /**
+     * Pad until the length is the remainder modulo the alignment.
+     */
+    private void align(int alignment, int remainder) {
+        while (length % alignment != remainder) {
+            reserve(1);
+        }
+    }
+
+    /**
+     * Append zeroed bytes.
+     *
+     * @return the position of the bytes.
+     */
+    private int reserve(int size) {
+        if (buffer.length - length < size) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(length + size, 2 * buffer.length));
+        }
+        int position = length;
+        length += size;
+        return position;
+    }
+
+    private void putShort(int value) {
+        putAt(reserve(2), value, 2);
+    }
+
+    private void putIntAt(int position, int value) {
+        putAt(position, value, 4);
+    }
+
+    private void putAt(int position, long value, int size) {
+        for (int i = 0; i < size; i++) {
+            buffer[position + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
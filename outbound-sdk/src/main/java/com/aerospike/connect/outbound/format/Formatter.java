@@ -33,6 +33,10 @@ import lombok.NonNull;
  * Processing) destination, {@link PulsarOutboundMetadata} for Pulsar
  * destination, etc.
  *
+ * <p>
+ * Formatters of large payloads can implement {@link StreamingFormatter} to
+ * write the payload directly to the outbound destination buffers.
+ *
  * @param <T> the metadata associated with the outbound record.
  */
 public interface Formatter<T extends OutboundMetadata> {
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compress payloads in the gzip format. Gzip does not support dictionaries.
+ * Each thread reuses its own {@link Deflater}, reset after each payload.
+ */
+public class GzipPayloadCompressor implements PayloadCompressor {
+    private static final byte[] header = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    /**
+     * The compression level, 0-9.
+     */
+    @Getter
+    private final int level;
+
+    private final ThreadLocal<Deflater> deflaters;
+
+    public GzipPayloadCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public GzipPayloadCompressor(int level) {
+        this.level = level;
+        this.deflaters =
+                ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return "gzip";
+    }
+
+    @Override
+    public byte[] compress(@NonNull byte[] payload,
+                           @Nullable byte[] dictionary) {
+        byte[] deflated;
+        Deflater deflater = deflaters.get();
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            deflated = DeflatePayloadCompressor.drain(deflater,
+                    payload.length);
+        } finally {
+            deflater.reset();
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+
+        byte[] compressed = new byte[header.length + deflated.length + 8];
+        System.arraycopy(header, 0, compressed, 0, header.length);
+        System.arraycopy(deflated, 0, compressed, header.length,
+                deflated.length);
+        int trailer = header.length + deflated.length;
+        putIntLittleEndian(compressed, trailer, (int) crc32.getValue());
+        putIntLittleEndian(compressed, trailer + 4, payload.length);
+        return compressed;
+    }
+
+    private static void putIntLittleEndian(byte[] buffer, int offset,
+                                           int value) {
+        for (int i = 0; i < 4; i++) {
+            buffer[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
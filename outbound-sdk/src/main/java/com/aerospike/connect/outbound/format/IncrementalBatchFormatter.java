@@ -0,0 +1,116 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Format a batch of records incrementally, as the records of the batch
+ * arrive from Aerospike XDR change notification.
+ *
+ * <p>
+ * This interface is the push based counterpart of {@link BatchFormatter}.
+ * Instead of waiting for the whole batch to be buffered, the connector
+ * {@link #begin() begins} a batch, passes each batch item to {@link
+ * Batch#accept} as soon as it is received and formatted by the built-in
+ * format, and gets the outbound records with {@link Batch#finish} once the
+ * batch is complete. Formatters encode each item as it arrives, so they
+ * need not retain the batch items and the formatting work is not all done
+ * at the end of the batch.
+ *
+ * <p>
+ * The {@link #format} method of {@link BatchFormatter} is implemented by
+ * pushing the batch items to a new batch, implementations are used by
+ * connectors not supporting incremental batches too.
+ *
+ * @param <T> the metadata associated with the outbound records.
+ */
+public interface IncrementalBatchFormatter<T extends OutboundMetadata>
+        extends BatchFormatter<T> {
+    /**
+     * Begin formatting a batch. Several batches may be formatted
+     * concurrently, each batch by a single thread at a time.
+     *
+     * @return the batch to push the batch items to.
+     * @throws Exception if failed to begin the batch. The records of the
+     *                   batch are acknowledged with temporary error to
+     *                   Aerospike XDR change notification.
+     */
+    Batch<T> begin() throws Exception;
+
+    @Override
+    default List<OutboundRecord<T>> format(
+            @NonNull List<BatchItem<T>> batchItems) throws Exception {
+        Batch<T> batch = begin();
+        try {
+            for (BatchItem<T> batchItem : batchItems) {
+                batch.accept(batchItem);
+            }
+            return batch.finish();
+        } catch (Exception e) {
+            batch.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * A batch being formatted.
+     *
+     * <p>
+     * When an exception is thrown by any of the methods, the batch is
+     * {@link #abort() aborted} and all the records in the batch are
+     * acknowledged with temporary error to Aerospike XDR change notification.
+     * Aerospike XDR change notification will resend all the change
+     * notification records in the batch on a temporary error.
+     *
+     * @param <T> the metadata associated with the outbound records.
+     */
+    interface Batch<T extends OutboundMetadata> {
+        /**
+         * Format a batch item, in the order of the batch.
+         *
+         * @param batchItem the record to be formatted and the formatted
+         *                  record.
+         * @throws Exception if failed to format the record.
+         */
+        void accept(@NonNull BatchItem<T> batchItem) throws Exception;
+
+        /**
+         * Finish the batch once all its items are accepted.
+         *
+         * <p>
+         * The returned records are the same as the records returned by
+         * {@link BatchFormatter#format} for the whole batch.
+         *
+         * @return the formatted records.
+         * @throws Exception if failed to format the records.
+         */
+        List<OutboundRecord<T>> finish() throws Exception;
+
+        /**
+         * Abort the batch, releasing any resources held by it. Called
+         * instead of {@link #finish()} when the batch fails. The default
+         * implementation does nothing.
+         */
+        default void abort() {
+        }
+    }
+}
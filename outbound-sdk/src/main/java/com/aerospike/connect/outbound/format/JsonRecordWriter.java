@@ -0,0 +1,196 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write the bins of records as a JSON object, caching the escaped UTF-8 bin
+ * names of each namespace and set.
+ *
+ * <p>
+ * Records of a set mostly share the same bin names, the first record of a
+ * set with a bin name escapes and encodes it once and later records copy the
+ * cached bytes. The bin values are written with {@link JsonValueWriter}
+ * without building an intermediate map or tree.
+ *
+ * <p>
+ * The number of cached sets and bin names per set are bounded, names beyond
+ * the bounds are written uncached. This class is thread safe, a single
+ * instance should be shared by a formatter.
+ */
+public final class JsonRecordWriter {
+    /**
+     * The default maximum number of sets with cached bin names.
+     */
+    public static final int DEFAULT_MAX_SETS = 1024;
+
+    /**
+     * The default maximum number of cached bin names per set.
+     */
+    public static final int DEFAULT_MAX_BINS_PER_SET = 1024;
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final int maxSets;
+
+    private final int maxBinsPerSet;
+
+    /**
+     * The cached bin names by namespace, then set. Records without a set are
+     * cached under the empty set name.
+     */
+    private final Map<String, Map<String, Map<String, SerializedString>>>
+            binNames = new ConcurrentHashMap<>();
+
+    /**
+     * The number of sets with cached bin names.
+     */
+    private final AtomicInteger setCount = new AtomicInteger();
+
+    /**
+     * Create a writer with the default bounds.
+     */
+    public JsonRecordWriter() {
+        this(DEFAULT_MAX_SETS, DEFAULT_MAX_BINS_PER_SET);
+    }
+
+    /**
+     * Create a writer.
+     *
+     * @param maxSets       the maximum number of sets with cached bin names.
+     * @param maxBinsPerSet the maximum number of cached bin names per set.
+     */
+    public JsonRecordWriter(int maxSets, int maxBinsPerSet) {
+        this.maxSets = maxSets;
+        this.maxBinsPerSet = maxBinsPerSet;
+    }
+
+    /**
+     * Write the bins of the record as a JSON object.
+     *
+     * @param record the record.
+     * @return the UTF-8 encoded JSON object.
+     * @throws IOException if failed to write the bins.
+     */
+    public byte[] writeBins(@NonNull ChangeNotificationRecord record)
+            throws IOException {
+        try (ByteArrayBuilder builder = new ByteArrayBuilder()) {
+            try (JsonGenerator generator =
+                         jsonFactory.createGenerator(builder)) {
+                writeBins(generator, record);
+            }
+            return builder.toByteArray();
+        }
+    }
+
+    /**
+     * Write the bins of the record as a JSON object to the stream. The stream
+     * is not closed.
+     *
+     * @param out    the stream to write to.
+     * @param record the record.
+     * @throws IOException if failed to write the bins.
+     */
+    public void writeBins(@NonNull OutputStream out,
+                          @NonNull ChangeNotificationRecord record)
+            throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out,
+                JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            writeBins(generator, record);
+        }
+    }
+
+    /**
+     * Write the bins of the record as a JSON object to the generator.
+     *
+     * @param generator the generator to write to.
+     * @param record    the record.
+     * @throws IOException if failed to write the bins.
+     */
+    public void writeBins(@NonNull JsonGenerator generator,
+                          @NonNull ChangeNotificationRecord record)
+            throws IOException {
+        Map<String, SerializedString> names =
+                getBinNames(record.getMetadata().getKey());
+
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> bin : record.getBins().entrySet()) {
+            generator.writeFieldName(getBinName(names, bin.getKey()));
+            JsonValueWriter.writeValue(generator, bin.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * @return the cached bin names of the set of the key, {@code null} if the
+     * set is not cached and the number of cached sets is at the bound.
+     */
+    @Nullable
+    private Map<String, SerializedString> getBinNames(Key key) {
+        Map<String, Map<String, SerializedString>> sets =
+                binNames.computeIfAbsent(key.namespace,
+                        namespace -> new ConcurrentHashMap<>());
+
+        String setName = key.setName != null ? key.setName : "";
+        Map<String, SerializedString> names = sets.get(setName);
+        if (names != null || setCount.get() >= maxSets) {
+            return names;
+        }
+
+        return sets.computeIfAbsent(setName, name -> {
+            setCount.incrementAndGet();
+            return new ConcurrentHashMap<>();
+        });
+    }
+
+    private SerializableString getBinName(
+            @Nullable Map<String, SerializedString> names, String binName) {
+        if (names == null) {
+            return new SerializedString(binName);
+        }
+
+        SerializedString name = names.get(binName);
+        if (name != null) {
+            return name;
+        }
+
+        name = new SerializedString(binName);
+        if (names.size() < maxBinsPerSet) {
+            names.putIfAbsent(binName, name);
+        }
+        return name;
+    }
+}
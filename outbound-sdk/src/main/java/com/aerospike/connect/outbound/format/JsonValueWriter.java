@@ -0,0 +1,253 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Value;
+import com.aerospike.connect.outbound.transformer.Transformer;
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Write bin values to a Jackson {@link JsonGenerator} the same way as the
+ * built-in JSON outbound format.
+ *
+ * <p>
+ * The values are streamed to the generator without an intermediate tree or
+ * string:
+ * <ul>
+ *     <li>{@link Value.BytesValue BytesValue} of any particle type and
+ *     <code>byte[]</code> are written as Base64 encoded strings.</li>
+ *     <li>{@link Value.GeoJSONValue GeoJSONValue} is written as a JSON
+ *     object.</li>
+ *     <li>maps are written as JSON objects with the string form of the keys,
+ *     lists as JSON arrays.</li>
+ * </ul>
+ * See {@link Transformer#transform} for the handling of the value types. To
+ * serialize the values with an object mapper register the {@link
+ * AerospikeValueModule}, which passes its {@link SerializerProvider} so that
+ * nested values follow the configuration of the mapper.
+ */
+public final class JsonValueWriter {
+    private JsonValueWriter() {
+    }
+
+    /**
+     * Write a bin value.
+     *
+     * <p>
+     * Values of other types are written with the {@link
+     * com.fasterxml.jackson.core.ObjectCodec ObjectCodec} of the generator.
+     *
+     * @param generator the generator to write to.
+     * @param value     the bin value.
+     * @throws IOException if failed to write the value, or the value type is
+     *                     not supported and the generator has no codec.
+     */
+    public static void writeValue(@NonNull JsonGenerator generator,
+                                  @Nullable Object value) throws IOException {
+        writeValue(generator, value, null);
+    }
+
+    /**
+     * Write a bin value with the configuration of a serializer provider.
+     *
+     * <p>
+     * Bytes are written with the {@link Base64Variant} of the provider's
+     * config, map keys with the provider's key serializers and values of
+     * other types with the provider. Without a provider the generator's
+     * defaults are used, as in {@link #writeValue(JsonGenerator, Object)}.
+     *
+     * @param generator the generator to write to.
+     * @param value     the bin value.
+     * @param provider  the provider of the object mapper serializing the value.
+     * @throws IOException if failed to write the value, or the value type is
+     *                     not supported.
+     */
+    public static void writeValue(@NonNull JsonGenerator generator,
+                                  @Nullable Object value,
+                                  @Nullable SerializerProvider provider)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Long || value instanceof Integer ||
+                value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof byte[]) {
+            writeBinary(generator, (byte[]) value, provider);
+        } else if (value instanceof Value) {
+            writeAerospikeValue(generator, (Value) value, provider);
+        } else if (value instanceof Map) {
+            writeMap(generator, (Map<?, ?>) value, provider);
+        } else if (value instanceof Collection) {
+            writeCollection(generator, (Collection<?>) value, provider);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (provider != null) {
+            provider.defaultSerializeValue(value, generator);
+        } else if (generator.getCodec() != null) {
+            generator.writeObject(value);
+        } else {
+            throw new IOException(
+                    "unsupported bin value type " + value.getClass());
+        }
+    }
+
+    /**
+     * Write an Aerospike client value.
+     *
+     * @param generator the generator to write to.
+     * @param value     the value.
+     * @throws IOException if failed to write the value.
+     */
+    public static void writeAerospikeValue(@NonNull JsonGenerator generator,
+                                           @NonNull Value value)
+            throws IOException {
+        writeAerospikeValue(generator, value, null);
+    }
+
+    /**
+     * Write an Aerospike client value with the configuration of a serializer
+     * provider, see {@link #writeValue(JsonGenerator, Object,
+     * SerializerProvider)}.
+     *
+     * @param generator the generator to write to.
+     * @param value     the value.
+     * @param provider  the provider of the object mapper serializing the value.
+     * @throws IOException if failed to write the value.
+     */
+    public static void writeAerospikeValue(
+            @NonNull JsonGenerator generator, @NonNull Value value,
+            @Nullable SerializerProvider provider) throws IOException {
+        if (value instanceof Value.BytesValue) {
+            writeBinary(generator, (byte[]) value.getObject(), provider);
+        } else if (value instanceof Value.GeoJSONValue) {
+            generator.writeRawValue((String) value.getObject());
+        } else {
+            Object object = value.getObject();
+            if (object instanceof Value) {
+                generator.writeString(object.toString());
+            } else {
+                writeValue(generator, object, provider);
+            }
+        }
+    }
+
+    /**
+     * Write a map as a JSON object.
+     *
+     * @param generator the generator to write to.
+     * @param map       the map.
+     * @throws IOException if failed to write the map.
+     */
+    public static void writeMap(@NonNull JsonGenerator generator,
+                                @NonNull Map<?, ?> map) throws IOException {
+        writeMap(generator, map, null);
+    }
+
+    /**
+     * Write a map as a JSON object with the configuration of a serializer
+     * provider, see {@link #writeValue(JsonGenerator, Object,
+     * SerializerProvider)}.
+     *
+     * @param generator the generator to write to.
+     * @param map       the map.
+     * @param provider  the provider of the object mapper serializing the map.
+     * @throws IOException if failed to write the map.
+     */
+    public static void writeMap(@NonNull JsonGenerator generator,
+                                @NonNull Map<?, ?> map,
+                                @Nullable SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            if (provider != null && key != null) {
+                provider.findKeySerializer(key.getClass(), null)
+                        .serialize(key, generator, provider);
+            } else {
+                generator.writeFieldName(String.valueOf(key));
+            }
+            writeValue(generator, entry.getValue(), provider);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Write a collection as a JSON array.
+     *
+     * @param generator  the generator to write to.
+     * @param collection the collection.
+     * @throws IOException if failed to write the collection.
+     */
+    public static void writeCollection(@NonNull JsonGenerator generator,
+                                       @NonNull Collection<?> collection)
+            throws IOException {
+        writeCollection(generator, collection, null);
+    }
+
+    /**
+     * Write a collection as a JSON array with the configuration of a
+     * serializer provider, see {@link #writeValue(JsonGenerator, Object,
+     * SerializerProvider)}.
+     *
+     * @param generator  the generator to write to.
+     * @param collection the collection.
+     * @param provider   the provider of the object mapper serializing the
+     *                   collection.
+     * @throws IOException if failed to write the collection.
+     */
+    public static void writeCollection(@NonNull JsonGenerator generator,
+                                       @NonNull Collection<?> collection,
+                                       @Nullable SerializerProvider provider)
+            throws IOException {
+        generator.writeStartArray();
+        for (Object element : collection) {
+            writeValue(generator, element, provider);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeBinary(JsonGenerator generator, byte[] bytes,
+                                    @Nullable SerializerProvider provider)
+            throws IOException {
+        if (provider != null) {
+            generator.writeBinary(provider.getConfig().getBase64Variant(),
+                    bytes, 0, bytes.length);
+        } else {
+            generator.writeBinary(bytes);
+        }
+    }
+}
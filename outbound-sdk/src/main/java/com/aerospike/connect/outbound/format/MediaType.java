@@ -42,6 +42,17 @@ public class MediaType {
      */
     public final static String MESSAGE_PACK = "application/x-msgpack";
 
+    /**
+     * Protocol Buffers media type.
+     */
+    public final static String PROTOBUF = "application/x-protobuf";
+
+    /**
+     * Arrow IPC stream media type.
+     */
+    public final static String ARROW_STREAM =
+            "application/vnd.apache.arrow.stream";
+
     /**
      * Octet stream media type.
      */
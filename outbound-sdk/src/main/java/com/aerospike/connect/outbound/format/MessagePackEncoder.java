@@ -0,0 +1,490 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Value;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.ParticleType;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Encode records and bin values into MessagePack in a {@link ByteBuffer}.
+ *
+ * <p>
+ * The values are encoded with the same semantics as the built-in MessagePack
+ * outbound format:
+ * <ul>
+ *     <li>{@link Value.BytesValue BytesValue} is encoded as an ext value with
+ *     the ext type equal to its {@link ParticleType} value.</li>
+ *     <li>{@link Value.GeoJSONValue GeoJSONValue} is encoded as an ext value
+ *     with the ext type {@link ParticleType#GEOJSON GEOJSON} and the UTF-8
+ *     GeoJSON string as data.</li>
+ *     <li><code>byte[]</code> is encoded as a binary value.</li>
+ *     <li>maps and lists, including CDT map and list values, are encoded as
+ *     MessagePack maps and arrays.</li>
+ * </ul>
+ *
+ * <p>
+ * The encoder writes strings without allocating their UTF-8 bytes. An
+ * encoder created without a buffer grows its own buffer, and can be {@link
+ * #reset()} and reused across records to avoid allocating a buffer per record.
+ * An encoder created with a buffer writes into it and throws {@link
+ * BufferOverflowException} when it is full. This class is not thread safe.
+ */
+public final class MessagePackEncoder {
+    /**
+     * The default initial capacity of a growable buffer.
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private final boolean growable;
+
+    private ByteBuffer buffer;
+
+    /**
+     * Create an encoder with a growable buffer of the default capacity.
+     */
+    public MessagePackEncoder() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an encoder with a growable buffer.
+     *
+     * @param initialCapacity the initial capacity of the buffer.
+     */
+    public MessagePackEncoder(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(Math.max(16, initialCapacity));
+        this.growable = true;
+    }
+
+    /**
+     * Create an encoder writing from the position of the buffer. MessagePack is
+     * big-endian, so the byte order of the buffer is set to {@link
+     * ByteOrder#BIG_ENDIAN}. The buffer itself is written to, rather than a
+     * duplicate, so that its position advances past the encoded bytes.
+     *
+     * @param buffer the buffer to write to.
+     */
+    public MessagePackEncoder(@NonNull ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        this.growable = false;
+    }
+
+    /**
+     * Get the buffer written to. The encoded bytes are before the position of
+     * the buffer.
+     *
+     * @return the buffer written to.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Copy the encoded bytes of a growable buffer.
+     *
+     * @return the encoded bytes.
+     */
+    public byte[] toByteArray() {
+        ByteBuffer encoded = buffer.duplicate();
+        encoded.flip();
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Discard the encoded bytes to reuse the buffer.
+     */
+    public void reset() {
+        buffer.clear();
+    }
+
+    /**
+     * Encode the bins of the record as a map of bin name to bin value.
+     *
+     * @param record the record.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeBins(
+            @NonNull ChangeNotificationRecord record) {
+        Map<String, Object> bins = record.getBins();
+        writeMapHeader(bins.size());
+        for (Map.Entry<String, Object> bin : bins.entrySet()) {
+            writeString(bin.getKey());
+            writeValue(bin.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Encode a bin value.
+     *
+     * @param value the bin value.
+     * @return this encoder.
+     * @throws IllegalArgumentException if the value type is not supported.
+     */
+    public MessagePackEncoder writeValue(@Nullable Object value) {
+        if (value == null) {
+            writeNil();
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Long || value instanceof Integer ||
+                value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else if (value instanceof byte[]) {
+            writeBinary((byte[]) value);
+        } else if (value instanceof Value.BytesValue) {
+            Value.BytesValue bytesValue = (Value.BytesValue) value;
+            writeExt(bytesValue.getType(), (byte[]) bytesValue.getObject());
+        } else if (value instanceof Value.GeoJSONValue) {
+            writeExt(ParticleType.GEOJSON.getValue(),
+                    (String) ((Value) value).getObject());
+        } else if (value instanceof Value) {
+            Object object = ((Value) value).getObject();
+            if (object instanceof Value) {
+                throw new IllegalArgumentException(
+                        "unsupported bin value type " + value.getClass());
+            }
+            writeValue(object);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            writeMapHeader(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            writeArrayHeader(collection.size());
+            for (Object element : collection) {
+                writeValue(element);
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "unsupported bin value type " + value.getClass());
+        }
+        return this;
+    }
+
+    /**
+     * Encode a nil value.
+     *
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeNil() {
+        ensureRemaining(1);
+        buffer.put((byte) 0xc0);
+        return this;
+    }
+
+    /**
+     * Encode a boolean value.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeBoolean(boolean value) {
+        ensureRemaining(1);
+        buffer.put((byte) (value ? 0xc3 : 0xc2));
+        return this;
+    }
+
+    /**
+     * Encode an integer value in the smallest format.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeLong(long value) {
+        ensureRemaining(9);
+        if (value >= 0) {
+            if (value < 0x80) {
+                buffer.put((byte) value);
+            } else if (value < 0x100) {
+                buffer.put((byte) 0xcc).put((byte) value);
+            } else if (value < 0x10000) {
+                buffer.put((byte) 0xcd).putShort((short) value);
+            } else if (value < 0x100000000L) {
+                buffer.put((byte) 0xce).putInt((int) value);
+            } else {
+                buffer.put((byte) 0xcf).putLong(value);
+            }
+        } else {
+            if (value >= -32) {
+                buffer.put((byte) value);
+            } else if (value >= Byte.MIN_VALUE) {
+                buffer.put((byte) 0xd0).put((byte) value);
+            } else if (value >= Short.MIN_VALUE) {
+                buffer.put((byte) 0xd1).putShort((short) value);
+            } else if (value >= Integer.MIN_VALUE) {
+                buffer.put((byte) 0xd2).putInt((int) value);
+            } else {
+                buffer.put((byte) 0xd3).putLong(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Encode a 32-bit float value.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeFloat(float value) {
+        ensureRemaining(5);
+        buffer.put((byte) 0xca).putFloat(value);
+        return this;
+    }
+
+    /**
+     * Encode a 64-bit float value.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeDouble(double value) {
+        ensureRemaining(9);
+        buffer.put((byte) 0xcb).putDouble(value);
+        return this;
+    }
+
+    /**
+     * Encode a string value.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeString(@NonNull String value) {
+        int length = utf8Length(value);
+        ensureRemaining(5 + length);
+        if (length < 32) {
+            buffer.put((byte) (0xa0 | length));
+        } else if (length < 0x100) {
+            buffer.put((byte) 0xd9).put((byte) length);
+        } else if (length < 0x10000) {
+            buffer.put((byte) 0xda).putShort((short) length);
+        } else {
+            buffer.put((byte) 0xdb).putInt(length);
+        }
+        putUtf8(value);
+        return this;
+    }
+
+    /**
+     * Encode a binary value.
+     *
+     * @param value the value.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeBinary(@NonNull byte[] value) {
+        int length = value.length;
+        ensureRemaining(5 + length);
+        if (length < 0x100) {
+            buffer.put((byte) 0xc4).put((byte) length);
+        } else if (length < 0x10000) {
+            buffer.put((byte) 0xc5).putShort((short) length);
+        } else {
+            buffer.put((byte) 0xc6).putInt(length);
+        }
+        buffer.put(value);
+        return this;
+    }
+
+    /**
+     * Encode an ext value.
+     *
+     * @param type the ext type.
+     * @param data the ext data.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeExt(int type, @NonNull byte[] data) {
+        ensureRemaining(6 + data.length);
+        putExtHeader(type, data.length);
+        buffer.put(data);
+        return this;
+    }
+
+    /**
+     * Encode an ext value with the UTF-8 bytes of a string as data.
+     *
+     * @param type the ext type.
+     * @param data the string encoded as the ext data.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeExt(int type, @NonNull String data) {
+        int length = utf8Length(data);
+        ensureRemaining(6 + length);
+        putExtHeader(type, length);
+        putUtf8(data);
+        return this;
+    }
+
+    /**
+     * Encode the header of an array, followed by the encoded elements.
+     *
+     * @param size the number of elements.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeArrayHeader(int size) {
+        ensureRemaining(5);
+        if (size < 16) {
+            buffer.put((byte) (0x90 | size));
+        } else if (size < 0x10000) {
+            buffer.put((byte) 0xdc).putShort((short) size);
+        } else {
+            buffer.put((byte) 0xdd).putInt(size);
+        }
+        return this;
+    }
+
+    /**
+     * Encode the header of a map, followed by the encoded keys and values.
+     *
+     * @param size the number of entries.
+     * @return this encoder.
+     */
+    public MessagePackEncoder writeMapHeader(int size) {
+        ensureRemaining(5);
+        if (size < 16) {
+            buffer.put((byte) (0x80 | size));
+        } else if (size < 0x10000) {
+            buffer.put((byte) 0xde).putShort((short) size);
+        } else {
+            buffer.put((byte) 0xdf).putInt(size);
+        }
+        return this;
+    }
+
+    private void putExtHeader(int type, int length) {
+        switch (length) {
+            case 1:
+                buffer.put((byte) 0xd4);
+                break;
+            case 2:
+                buffer.put((byte) 0xd5);
+                break;
+            case 4:
+                buffer.put((byte) 0xd6);
+                break;
+            case 8:
+                buffer.put((byte) 0xd7);
+                break;
+            case 16:
+                buffer.put((byte) 0xd8);
+                break;
+            default:
+                if (length < 0x100) {
+                    buffer.put((byte) 0xc7).put((byte) length);
+                } else if (length < 0x10000) {
+                    buffer.put((byte) 0xc8).putShort((short) length);
+                } else {
+                    buffer.put((byte) 0xc9).putInt(length);
+                }
+        }
+        buffer.put((byte) type);
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) &&
+                        i + 1 < value.length() &&
+                        Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Four bytes for the two chars of the pair.
+                    length += 2;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate replaced with '?'.
+                    continue;
+                } else {
+                    length += 2;
+                }
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private void putUtf8(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) &&
+                    i + 1 < value.length() &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xf0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xe0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private void ensureRemaining(int length) {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+
+        long required = (long) buffer.position() + length;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("encoded value too large");
+        }
+
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(required, 2L * buffer.capacity()));
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
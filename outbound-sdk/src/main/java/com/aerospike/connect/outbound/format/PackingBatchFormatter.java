@@ -0,0 +1,279 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.connect.outbound.routing.OutboundRoute;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link BatchFormatter} packing the payloads of the batch items into as
+ * few outbound records as possible, each no larger than a maximum message
+ * size.
+ *
+ * <p>
+ * The batch items are encoded one at a time and appended to the open
+ * message of their route, framed by a prefix, a separator between the
+ * payloads, and a suffix. A message is closed when the next payload of its
+ * route would make it exceed the maximum message size, so the packed
+ * payloads are never larger than the maximum message size and the payloads
+ * stay in batch order. A payload larger than the maximum message size on
+ * its own is packed alone, so only its message fails at the destination.
+ *
+ * <p>
+ * The maximum message size is the limit of the destination less its per
+ * message overhead - like the Kafka {@code max.request.size} or the
+ * {@code max.message.bytes} of the topic less the record headers and key,
+ * the Google Pub/Sub 10 MB message size, or the Pulsar
+ * {@code maxMessageSize}. The same maximum message size applies to all the
+ * routes, subclasses override {@link #getMaxMessageSize(OutboundRoute)} when
+ * the routes have different limits - like Kafka topics with different
+ * {@code max.message.bytes}.
+ *
+ * <p>
+ * The formatter is an {@link IncrementalBatchFormatter}: each batch item is
+ * encoded and appended as it is accepted, and only the open messages are
+ * retained.
+ *
+ * <p>
+ * By default the payload of a batch item is the payload of its formatted
+ * record, and the metadata of a packed record is the metadata of the
+ * formatted record of its first batch item. Subclasses override {@link
+ * #encode} and {@link #getMetadata} to change them.
+ *
+ * @param <T> the metadata associated with the outbound records.
+ */
+public class PackingBatchFormatter<T extends OutboundMetadata>
+        implements IncrementalBatchFormatter<T> {
+    @NonNull
+    private final String mediaType;
+
+    /**
+     * The maximum size of the payload of a packed record, of the routes
+     * without a {@link #getMaxMessageSize(OutboundRoute) route maximum}.
+     */
+    @Getter
+    private final int maxMessageSize;
+
+    @NonNull
+    private final byte[] prefix;
+
+    @NonNull
+    private final byte[] separator;
+
+    @NonNull
+    private final byte[] suffix;
+
+    /**
+     * Create a formatter.
+     *
+     * @param mediaType      the media type of the packed records.
+     * @param maxMessageSize the maximum size of the payload of a packed
+     *                       record.
+     * @param prefix         the bytes before the first payload.
+     * @param separator      the bytes between the payloads.
+     * @param suffix         the bytes after the last payload.
+     */
+    public PackingBatchFormatter(@NonNull String mediaType,
+                                 int maxMessageSize,
+                                 @NonNull byte[] prefix,
+                                 @NonNull byte[] separator,
+                                 @NonNull byte[] suffix) {
+        if (maxMessageSize <= 0) {
+            throw new IllegalArgumentException(
+                    "max message size should be positive: " +
+                            maxMessageSize);
+        }
+
+        this.mediaType = mediaType;
+        this.maxMessageSize = maxMessageSize;
+        this.prefix = prefix.clone();
+        this.separator = separator.clone();
+        this.suffix = suffix.clone();
+    }
+
+    /**
+     * Create a formatter packing the payloads as newline delimited JSON.
+     *
+     * @param maxMessageSize the maximum size of the payload of a packed
+     *                       record.
+     * @param <T>            the metadata associated with the outbound
+     *                       records.
+     * @return the formatter.
+     */
+    public static <T extends OutboundMetadata> PackingBatchFormatter<T> ndjson(
+            int maxMessageSize) {
+        return new PackingBatchFormatter<>(MediaType.NDJSON, maxMessageSize,
+                new byte[0], new byte[]{'\n'}, new byte[]{'\n'});
+    }
+
+    /**
+     * Create a formatter packing the payloads as a JSON array.
+     *
+     * @param maxMessageSize the maximum size of the payload of a packed
+     *                       record.
+     * @param <T>            the metadata associated with the outbound
+     *                       records.
+     * @return the formatter.
+     */
+    public static <T extends OutboundMetadata> PackingBatchFormatter<T>
+    jsonArray(int maxMessageSize) {
+        return new PackingBatchFormatter<>(MediaType.JSON, maxMessageSize,
+                new byte[]{'['}, new byte[]{','}, new byte[]{']'});
+    }
+
+    @Override
+    public Batch<T> begin() {
+        return new PackedBatch();
+    }
+
+    /**
+     * Encode the payload of a batch item. By default the payload of the
+     * formatted record of the batch item, for bytes and text records; other
+     * records are skipped.
+     *
+     * @param batchItem the batch item.
+     * @return the payload, {@code null} to skip the batch item.
+     * @throws Exception if failed to encode the batch item.
+     */
+    @Nullable
+    protected byte[] encode(@NonNull BatchItem<T> batchItem)
+            throws Exception {
+        OutboundRecord<T> record = batchItem.getFormattedRecord();
+        if (!(record instanceof BytesOutboundRecord)) {
+            return null;
+        }
+
+        return ((BytesOutboundRecord<T>) record).getPayload().orElse(null);
+    }
+
+    /**
+     * Get the maximum size of the payload of a packed record of a route. By
+     * default the maximum message size of the formatter for all the routes.
+     *
+     * @param route the route of the packed record.
+     * @return the maximum message size of the route, positive.
+     */
+    protected int getMaxMessageSize(@NonNull OutboundRoute<?> route) {
+        return maxMessageSize;
+    }
+
+    /**
+     * Get the metadata of a packed record. By default the metadata of the
+     * formatted record of its first batch item.
+     *
+     * @param firstBatchItem the first batch item packed in the record.
+     * @return the metadata of the packed record.
+     */
+    @NonNull
+    protected T getMetadata(@NonNull BatchItem<T> firstBatchItem) {
+        return firstBatchItem.getFormattedRecord().getMetadata();
+    }
+
+    /**
+     * A batch being packed, with the open message of each route.
+     */
+    private class PackedBatch implements Batch<T> {
+        private final Map<OutboundRoute<?>, Message> messages =
+                new LinkedHashMap<>();
+
+        private final List<OutboundRecord<T>> records = new ArrayList<>();
+
+        @Override
+        public void accept(@NonNull BatchItem<T> batchItem)
+                throws Exception {
+            byte[] payload = encode(batchItem);
+            if (payload == null) {
+                return;
+            }
+
+            Message message = messages.get(batchItem.getOutboundRoute());
+            if (message != null && !message.fits(payload.length)) {
+                records.add(message.toRecord());
+                message = null;
+            }
+
+            if (message == null) {
+                message = new Message(getMetadata(batchItem),
+                        getMaxMessageSize(batchItem.getOutboundRoute()));
+                messages.put(batchItem.getOutboundRoute(), message);
+            }
+            message.add(payload);
+        }
+
+        @Override
+        public List<OutboundRecord<T>> finish() {
+            for (Message message : messages.values()) {
+                records.add(message.toRecord());
+            }
+            messages.clear();
+            return records;
+        }
+    }
+
+    /**
+     * A packed record being filled.
+     */
+    private class Message {
+        private final T metadata;
+
+        private final int maxSize;
+
+        private final ByteArrayOutputStream payload =
+                new ByteArrayOutputStream();
+
+        private int count;
+
+        Message(T metadata, int maxSize) {
+            this.metadata = metadata;
+            this.maxSize = maxSize;
+            payload.write(prefix, 0, prefix.length);
+        }
+
+        /**
+         * Check if a payload fits, an empty message fits any payload.
+         */
+        boolean fits(int length) {
+            long size = (long) payload.size() + separator.length + length +
+                    suffix.length;
+            return count == 0 || size <= maxSize;
+        }
+
+        void add(byte[] bytes) {
+            if (count > 0) {
+                payload.write(separator, 0, separator.length);
+            }
+            payload.write(bytes, 0, bytes.length);
+            count++;
+        }
+
+        OutboundRecord<T> toRecord() {
+            payload.write(suffix, 0, suffix.length);
+            return new DefaultBytesOutboundRecord<>(payload.toByteArray(),
+                    mediaType, metadata, null);
+        }
+    }
+}
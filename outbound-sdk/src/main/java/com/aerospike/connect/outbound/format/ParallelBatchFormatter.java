@@ -0,0 +1,206 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link BatchFormatter} formatting large batches in parallel with another
+ * batch formatter.
+ *
+ * <p>
+ * Batches larger than the chunk size are split into chunks of consecutive
+ * batch items, the chunks are formatted by the delegate formatter on a fork
+ * join pool and the first chunk on the calling thread, and the formatted
+ * records of the chunks are concatenated in the order of the chunks. Smaller
+ * batches are formatted on the calling thread. If a chunk fails or the
+ * calling thread is interrupted while waiting, the other chunks are
+ * cancelled.
+ *
+ * <p>
+ * The delegate formatter must be thread safe: its {@link BatchFormatter#format}
+ * method is called concurrently for the chunks of a batch, and for the chunks
+ * of concurrent batches. It should format a batch into the same records as
+ * the concatenation of the records of its chunks - like a formatter
+ * formatting each batch item into its own records. Formatters packing the
+ * batch into a few records or inferring state across the batch still work,
+ * but format a record or more per chunk.
+ *
+ * <p>
+ * The pool is supplied by the plugin and should be dedicated to formatting:
+ * delegates blocking on I/O, like schema or dictionary registry calls, would
+ * starve the other users of a shared pool such as the {@link
+ * ForkJoinPool#commonPool() common pool}. {@link #newPool} creates a bounded
+ * pool of daemon threads. Plugins wrap their batch formatter, for example
+ * <pre>
+ * public class ParallelKafkaBatchFormatter
+ *         extends ParallelBatchFormatter&lt;KafkaOutboundMetadata&gt; {
+ *     private static final ForkJoinPool pool =
+ *             ParallelBatchFormatter.newPool(
+ *                     Runtime.getRuntime().availableProcessors());
+ *
+ *     public ParallelKafkaBatchFormatter() {
+ *         super(new KafkaBatchFormatter(), pool);
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the metadata associated with the outbound records.
+ */
+public class ParallelBatchFormatter<T extends OutboundMetadata>
+        implements BatchFormatter<T> {
+    /**
+     * The default number of batch items formatted in a chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    @NonNull
+    private final BatchFormatter<T> delegate;
+
+    @NonNull
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    /**
+     * Create a formatter with the default chunk size.
+     *
+     * @param delegate the thread safe formatter of the chunks.
+     * @param pool     the pool formatting the chunks, shared by all the
+     *                 batches.
+     */
+    public ParallelBatchFormatter(@NonNull BatchFormatter<T> delegate,
+                                  @NonNull ForkJoinPool pool) {
+        this(delegate, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a formatter.
+     *
+     * @param delegate  the thread safe formatter of the chunks.
+     * @param pool      the pool formatting the chunks, shared by all the
+     *                  batches.
+     * @param chunkSize the number of batch items formatted in a chunk.
+     */
+    public ParallelBatchFormatter(@NonNull BatchFormatter<T> delegate,
+                                  @NonNull ForkJoinPool pool,
+                                  int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    "chunk size should be positive: " + chunkSize);
+        }
+
+        this.delegate = delegate;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create a pool of daemon threads for formatting chunks, with at most
+     * {@code parallelism} threads.
+     *
+     * @param parallelism the number of threads of the pool.
+     * @return the pool.
+     */
+    public static ForkJoinPool newPool(int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool
+                    .defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("parallel-batch-formatter-" +
+                    threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // Saturated joins wait rather than fail, the pool never grows.
+        return new ForkJoinPool(parallelism, factory, null, false,
+                parallelism, parallelism, 1, ignored -> true, 60,
+                TimeUnit.SECONDS);
+    }
+
+    @Override
+    public List<OutboundRecord<T>> format(
+            @NonNull List<BatchItem<T>> batchItems) throws Exception {
+        if (batchItems.size() <= chunkSize) {
+            return delegate.format(batchItems);
+        }
+
+        // The first chunk is formatted on the calling thread, the others are
+        // submitted to the pool.
+        List<Future<List<OutboundRecord<T>>>> futures = new ArrayList<>(
+                (batchItems.size() - 1) / chunkSize);
+        boolean completed = false;
+        try {
+            for (int from = chunkSize; from < batchItems.size();
+                 from += chunkSize) {
+                List<BatchItem<T>> chunk = batchItems.subList(from,
+                        Math.min(from + chunkSize, batchItems.size()));
+                // A FutureTask keeps the checked exceptions of the delegate
+                // unwrapped, and its cancellation interrupts the chunk.
+                FutureTask<List<OutboundRecord<T>>> task =
+                        new FutureTask<>(() -> delegate.format(chunk));
+                pool.execute(task);
+                futures.add(task);
+            }
+
+            List<OutboundRecord<T>> records =
+                    new ArrayList<>(batchItems.size());
+            records.addAll(delegate.format(batchItems.subList(0, chunkSize)));
+            for (Future<List<OutboundRecord<T>>> future : futures) {
+                records.addAll(getChunk(future));
+            }
+
+            completed = true;
+            return records;
+        } finally {
+            if (!completed) {
+                // Failed or interrupted, stop the chunks still running.
+                for (Future<List<OutboundRecord<T>>> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for a chunk, interruptibly.
+     */
+    private static <T extends OutboundMetadata> List<OutboundRecord<T>>
+    getChunk(Future<List<OutboundRecord<T>>> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of payload buffers in power of two size classes.
+ *
+ * <p>
+ * Formatters acquire a buffer to write the payload into and return it in a
+ * {@link PooledBytesOutboundRecord}. The connector releases the buffer back to
+ * the pool once the outbound destination acknowledges the record, so buffers
+ * are reused instead of becoming garbage after each dispatch.
+ *
+ * <p>
+ * The pool retains at most {@code maxRetainedBytes} of idle buffers in total
+ * and {@code maxBuffersPerClass} idle buffers per size class, further
+ * released buffers are dropped. Buffers larger than the largest size class
+ * are not pooled. Released buffers whose length is not one of the size
+ * classes are dropped. The pool does not track the buffers it hands out, the
+ * owner of a buffer, like a {@link PooledBytesOutboundRecord} or a {@link
+ * PooledPayloadOutputStream}, releases it exactly once. This class is thread
+ * safe and lock free.
+ */
+public final class PayloadBufferPool {
+    /**
+     * The default smallest buffer size.
+     */
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 256;
+
+    /**
+     * The default largest pooled buffer size.
+     */
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The default number of idle buffers retained per size class.
+     */
+    public static final int DEFAULT_MAX_BUFFERS_PER_CLASS = 64;
+
+    /**
+     * The default total size of the idle buffers retained.
+     */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 16L << 20;
+
+    /**
+     * The smallest buffer size, a power of two.
+     */
+    @Getter
+    private final int minBufferSize;
+
+    /**
+     * The largest pooled buffer size, a power of two.
+     */
+    @Getter
+    private final int maxBufferSize;
+
+    /**
+     * The maximum total size of the idle buffers retained.
+     */
+    @Getter
+    private final long maxRetainedBytes;
+
+    /**
+     * The maximum number of idle buffers retained per size class.
+     */
+    @Getter
+    private final int maxBuffersPerClass;
+
+    /**
+     * The idle buffers of each size class, smallest first.
+     */
+    private final List<SizeClass> sizeClasses;
+
+    /**
+     * The total size of the idle buffers.
+     */
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    /**
+     * Create a pool with the default sizes.
+     */
+    public PayloadBufferPool() {
+        this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE,
+                DEFAULT_MAX_BUFFERS_PER_CLASS, DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    /**
+     * Create a pool.
+     *
+     * @param minBufferSize      the smallest buffer size, rounded up to a
+     *                           power of two.
+     * @param maxBufferSize      the largest pooled buffer size, rounded up to
+     *                           a power of two.
+     * @param maxBuffersPerClass the number of idle buffers retained per size
+     *                           class.
+     * @param maxRetainedBytes   the total size of the idle buffers retained.
+     */
+    public PayloadBufferPool(int minBufferSize, int maxBufferSize,
+                             int maxBuffersPerClass, long maxRetainedBytes) {
+        if (minBufferSize <= 0 || maxBufferSize < minBufferSize ||
+                maxBufferSize > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "invalid buffer sizes " + minBufferSize + ", " +
+                            maxBufferSize);
+        }
+
+        if (maxBuffersPerClass <= 0) {
+            throw new IllegalArgumentException(
+                    "max buffers per class should be positive: " +
+                            maxBuffersPerClass);
+        }
+
+        if (maxRetainedBytes < 0) {
+            throw new IllegalArgumentException(
+                    "max retained bytes should not be negative: " +
+                            maxRetainedBytes);
+        }
+
+        this.minBufferSize = roundUpToPowerOfTwo(minBufferSize);
+        this.maxBufferSize = roundUpToPowerOfTwo(maxBufferSize);
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.maxBuffersPerClass = maxBuffersPerClass;
+        this.sizeClasses = new ArrayList<>();
+        for (int size = this.minBufferSize; size <= this.maxBufferSize;
+             size <<= 1) {
+            sizeClasses.add(new SizeClass());
+        }
+    }
+
+    /**
+     * Acquire a buffer of at least the given capacity. The contents of the
+     * buffer are undefined.
+     *
+     * @param minCapacity the minimum capacity of the buffer.
+     * @return a buffer of the size class of the capacity, or a new unpooled
+     * buffer of exactly the capacity if it is larger than the largest size
+     * class.
+     */
+    public byte[] acquire(int minCapacity) {
+        if (minCapacity > maxBufferSize) {
+            return new byte[minCapacity];
+        }
+
+        int size = Math.max(minBufferSize, roundUpToPowerOfTwo(minCapacity));
+        SizeClass sizeClass = sizeClasses.get(sizeClassOf(size));
+        byte[] buffer = sizeClass.buffers.poll();
+        if (buffer == null) {
+            return new byte[size];
+        }
+
+        sizeClass.count.decrementAndGet();
+        retainedBytes.addAndGet(-size);
+        return buffer;
+    }
+
+    /**
+     * Release a buffer back to the pool. Buffers whose length is not one of
+     * the size classes are dropped. A buffer should be released at most once,
+     * and should not be used after it is released.
+     *
+     * @param buffer the buffer to release.
+     */
+    public void release(@NonNull byte[] buffer) {
+        int size = buffer.length;
+        if (size < minBufferSize || size > maxBufferSize ||
+                Integer.bitCount(size) != 1) {
+            return;
+        }
+
+        SizeClass sizeClass = sizeClasses.get(sizeClassOf(size));
+        if (sizeClass.count.incrementAndGet() > maxBuffersPerClass) {
+            sizeClass.count.decrementAndGet();
+            return;
+        }
+
+        if (retainedBytes.addAndGet(size) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-size);
+            sizeClass.count.decrementAndGet();
+            return;
+        }
+
+        sizeClass.buffers.offer(buffer);
+    }
+
+    /**
+     * Get the total size of the idle buffers retained by the pool.
+     *
+     * @return the retained bytes.
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private int sizeClassOf(int size) {
+        return Integer.numberOfTrailingZeros(size) -
+                Integer.numberOfTrailingZeros(minBufferSize);
+    }
+
+    /**
+     * The idle buffers of a size class. The count is reserved before a buffer
+     * is queued, so it bounds the queue without locking.
+     */
+    private static final class SizeClass {
+        private final ConcurrentLinkedQueue<byte[]> buffers =
+                new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        return value <= 1 ? 1 :
+                Integer.highestOneBit(value - 1) << 1;
+    }
+}
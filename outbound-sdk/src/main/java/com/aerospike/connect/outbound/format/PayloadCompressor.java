@@ -0,0 +1,118 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Adler32;
+
+/**
+ * Compress outbound record payloads.
+ *
+ * <p>
+ * The SDK provides {@link GzipPayloadCompressor} and {@link
+ * DeflatePayloadCompressor}, plugins can implement other codecs with their own
+ * compression libraries.
+ *
+ * @see CompressingBatchFormatter
+ */
+public interface PayloadCompressor {
+    /**
+     * Get the content encoding of the compressed payloads, like {@code gzip}.
+     *
+     * @return the content encoding of the compressed payloads.
+     */
+    String getContentEncoding();
+
+    /**
+     * Get the content encoding of the payloads compressed with a dictionary.
+     * The default implementation is {@code x-<content encoding>-dict}, a non
+     * standard encoding: consumers decompressing the standard encoding would
+     * fail without the dictionary.
+     *
+     * @return the content encoding of the payloads compressed with a
+     * dictionary.
+     */
+    default String getDictionaryContentEncoding() {
+        return "x-" + getContentEncoding() + "-dict";
+    }
+
+    /**
+     * Compress a payload.
+     *
+     * @param payload    the payload.
+     * @param dictionary the dictionary to compress with, {@code null} to
+     *                   compress without a dictionary. Always {@code null}
+     *                   unless {@link #supportsDictionary()}.
+     * @return the compressed payload.
+     * @throws IOException if failed to compress the payload.
+     */
+    byte[] compress(@NonNull byte[] payload, @Nullable byte[] dictionary)
+            throws IOException;
+
+    /**
+     * @return whether payloads can be compressed with a dictionary.
+     */
+    default boolean supportsDictionary() {
+        return false;
+    }
+
+    /**
+     * Build a dictionary from samples of payloads. The default implementation
+     * builds a priming dictionary, not a trained one: it concatenates the
+     * most recent samples, so that payloads can refer to their bytes. This
+     * suits codecs matching against a preset window like deflate; codecs with
+     * a dictionary trainer, like zstd, can override it.
+     *
+     * @param samples the samples of payloads, oldest first.
+     * @param maxSize the maximum size of the dictionary.
+     * @return the dictionary.
+     */
+    default byte[] buildDictionary(@NonNull List<byte[]> samples,
+                                   int maxSize) {
+        byte[] dictionary = new byte[maxSize];
+        int start = maxSize;
+        for (int i = samples.size() - 1; i >= 0 && start > 0; i--) {
+            byte[] sample = samples.get(i);
+            int length = Math.min(sample.length, start);
+            start -= length;
+            System.arraycopy(sample, sample.length - length, dictionary,
+                    start, length);
+        }
+        return Arrays.copyOfRange(dictionary, start, maxSize);
+    }
+
+    /**
+     * Get the id consumers look the dictionary up by. The default
+     * implementation is the Adler-32 checksum of the dictionary, as in the
+     * zlib format.
+     *
+     * @param dictionary the dictionary.
+     * @return the id of the dictionary.
+     */
+    default long getDictionaryId(@NonNull byte[] dictionary) {
+        Adler32 adler32 = new Adler32();
+        adler32.update(dictionary, 0, dictionary.length);
+        return adler32.getValue();
+    }
+}
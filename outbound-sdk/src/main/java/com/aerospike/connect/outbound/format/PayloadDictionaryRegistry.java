@@ -0,0 +1,71 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A registry of the compression dictionaries of the records of each
+ * namespace and set, shared with the consumers decompressing the payloads.
+ *
+ * <p>
+ * The subject of the records of a set is {@code <namespace>.<set>}, and
+ * {@code <namespace>} for the records without a set. The {@link
+ * CompressingBatchFormatter} registers a dictionary before compressing any
+ * payload with it, and reloads the dictionary of a subject after a restart.
+ * Consumers look dictionaries up by the {@link
+ * CompressedBytesOutboundRecord#getDictionaryId() id} of the payload.
+ *
+ * @see FilePayloadDictionaryRegistry
+ */
+public interface PayloadDictionaryRegistry {
+    /**
+     * Get the latest dictionary of the subject.
+     *
+     * @param subject the subject.
+     * @return the dictionary, empty if the subject has no dictionary.
+     * @throws IOException if failed to read the dictionary.
+     */
+    Optional<byte[]> getDictionary(@NonNull String subject)
+            throws IOException;
+
+    /**
+     * Get a dictionary by id.
+     *
+     * @param id the id of the dictionary.
+     * @return the dictionary, empty if no dictionary has the id.
+     * @throws IOException if failed to read the dictionary.
+     */
+    Optional<byte[]> getDictionary(long id) throws IOException;
+
+    /**
+     * Register a dictionary as the latest dictionary of the subject.
+     *
+     * @param subject    the subject.
+     * @param id         the id of the dictionary, see {@link
+     *                   PayloadCompressor#getDictionaryId}.
+     * @param dictionary the dictionary.
+     * @throws IOException if failed to register the dictionary.
+     */
+    void register(@NonNull String subject, long id,
+                  @NonNull byte[] dictionary) throws IOException;
+}
@@ -0,0 +1,138 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link BytesOutboundRecord} with the payload in a buffer borrowed from a
+ * {@link PayloadBufferPool}.
+ *
+ * <p>
+ * The payload is the first {@link #getLength() length} bytes of the {@link
+ * #getBuffer() buffer}. The connector writes the payload from the buffer
+ * without copying it, and calls {@link #release()} once the outbound
+ * destination acknowledges the record, or the record is dropped. Records
+ * are compared by identity since each one owns its buffer.
+ *
+ * @param <T> the type of metadata associated with the outbound record.
+ */
+@Getter
+@ToString
+public class PooledBytesOutboundRecord<T extends OutboundMetadata>
+        implements BytesOutboundRecord<T> {
+    /**
+     * The pool the buffer is borrowed from.
+     */
+    @NonNull
+    @ToString.Exclude
+    private final PayloadBufferPool pool;
+
+    /**
+     * @return the buffer holding the payload. <b>WARN:</b> the buffer may be
+     * reused once the record is released.
+     */
+    @NonNull
+    @ToString.Exclude
+    private final byte[] buffer;
+
+    /**
+     * @return the length of the payload in the buffer.
+     */
+    private final int length;
+
+    @NonNull
+    private final String mediaType;
+
+    @NonNull
+    private final T metadata;
+
+    @Nullable
+    private final Set<Object> ignoreErrors;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    public PooledBytesOutboundRecord(@NonNull PayloadBufferPool pool,
+                                     @NonNull byte[] buffer, int length,
+                                     @NonNull String mediaType,
+                                     @NonNull T metadata,
+                                     @Nullable Set<Object> ignoreErrors) {
+        if (length < 0 || length > buffer.length) {
+            throw new IllegalArgumentException(
+                    "invalid payload length " + length);
+        }
+
+        this.pool = pool;
+        this.buffer = buffer;
+        this.length = length;
+        this.mediaType = mediaType;
+        this.metadata = metadata;
+        this.ignoreErrors = ignoreErrors;
+    }
+
+    /**
+     * Get a copy of the payload. Prefer writing the payload from {@link
+     * #getBuffer()} to avoid the copy.
+     *
+     * @return a copy of the payload.
+     * @throws IllegalStateException if the record is released.
+     */
+    @Override
+    public Optional<byte[]> getPayload() {
+        if (isReleased()) {
+            throw new IllegalStateException("payload is released");
+        }
+        return Optional.of(Arrays.copyOf(buffer, length));
+    }
+
+    @NonNull
+    @Override
+    public Set<Object> getIgnoreErrors() {
+        return ignoreErrors != null ? ignoreErrors : Collections.emptySet();
+    }
+
+    /**
+     * Release the buffer back to the pool. Releasing more than once has no
+     * effect.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(buffer);
+        }
+    }
+
+    /**
+     * @return whether the buffer is released back to the pool.
+     */
+    public boolean isReleased() {
+        return released.get();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * An output stream writing a payload into buffers of a {@link
+ * PayloadBufferPool}.
+ *
+ * <p>
+ * The stream grows by acquiring a buffer of the next size class and releasing
+ * the current one. The written payload is handed over to a {@link
+ * PooledBytesOutboundRecord} with {@link #toRecord}, after which the stream
+ * should not be used. This class is not thread safe.
+ */
+public class PooledPayloadOutputStream extends OutputStream {
+    @NonNull
+    private final PayloadBufferPool pool;
+
+    @Nullable
+    private byte[] buffer;
+
+    private int length;
+
+    /**
+     * Create a stream with a buffer of the smallest size class.
+     *
+     * @param pool the pool to acquire buffers from.
+     */
+    public PooledPayloadOutputStream(@NonNull PayloadBufferPool pool) {
+        this(pool, pool.getMinBufferSize());
+    }
+
+    /**
+     * Create a stream.
+     *
+     * @param pool            the pool to acquire buffers from.
+     * @param initialCapacity the expected size of the payload.
+     */
+    public PooledPayloadOutputStream(@NonNull PayloadBufferPool pool,
+                                     int initialCapacity) {
+        this.pool = pool;
+        this.buffer = pool.acquire(initialCapacity);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(length + 1);
+        buffer[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NonNull byte[] bytes, int offset, int len) {
+        if (offset < 0 || len < 0 || len > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        ensureCapacity(length + len);
+        System.arraycopy(bytes, offset, buffer, length, len);
+        length += len;
+    }
+
+    /**
+     * @return the number of bytes written.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Hand over the written payload to an outbound record.
+     *
+     * @param mediaType    the media type of the payload.
+     * @param metadata     the metadata of the outbound record.
+     * @param ignoreErrors the errors to ignore.
+     * @param <T>          the type of metadata of the outbound record.
+     * @return the outbound record owning the buffer.
+     */
+    public <T extends OutboundMetadata> PooledBytesOutboundRecord<T> toRecord(
+            @NonNull String mediaType, @NonNull T metadata,
+            @Nullable Set<Object> ignoreErrors) {
+        PooledBytesOutboundRecord<T> record =
+                new PooledBytesOutboundRecord<>(pool, buffer(), length,
+                        mediaType, metadata, ignoreErrors);
+        buffer = null;
+        return record;
+    }
+
+    /**
+     * Release the buffer back to the pool unless it is handed over to a
+     * record.
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private byte[] buffer() {
+        if (buffer == null) {
+            throw new IllegalStateException("stream is closed");
+        }
+        return buffer;
+    }
+
+    private void ensureCapacity(int capacity) {
+        byte[] current = buffer();
+        if (capacity <= current.length) {
+            return;
+        }
+
+        if (capacity < 0) {
+            throw new OutOfMemoryError("payload too large");
+        }
+
+        byte[] grown = pool.acquire(Math.max(capacity,
+                (int) Math.min(Integer.MAX_VALUE - 8, 2L * current.length)));
+        System.arraycopy(current, 0, grown, 0, length);
+        pool.release(current);
+        buffer = grown;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.policy.GenerationPolicy;
+import com.aerospike.client.policy.RecordExistsAction;
+import com.aerospike.connect.outbound.AerospikeOperation;
+
+import java.io.IOException;
+
+/**
+ * The field numbers, wire types and enum numbers of the Protobuf encoding of
+ * change notification records, see {@code change_notification.proto}. Enums
+ * are mapped to their proto numbers explicitly, so that reordering the Java
+ * constants does not change the encoding.
+ */
+final class ProtobufFields {
+    static final int WIRE_TYPE_VARINT = 0;
+    static final int WIRE_TYPE_FIXED64 = 1;
+    static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+    static final int WIRE_TYPE_FIXED32 = 5;
+
+    // ChangeNotification.
+    static final int RECORD_METADATA = 1;
+    static final int RECORD_BINS = 2;
+
+    // ChangeNotification.BinsEntry and MapEntry.
+    static final int ENTRY_KEY = 1;
+    static final int ENTRY_VALUE = 2;
+
+    // Metadata.
+    static final int METADATA_KEY = 1;
+    static final int METADATA_OPERATION = 2;
+    static final int METADATA_GENERATION = 3;
+    static final int METADATA_LAST_UPDATE_TIME_MS = 4;
+    static final int METADATA_EXPIRY_TIME = 5;
+    static final int METADATA_RECORD_EXISTS_ACTION = 6;
+    static final int METADATA_GENERATION_POLICY = 7;
+
+    // Key.
+    static final int KEY_NAMESPACE = 1;
+    static final int KEY_SET = 2;
+    static final int KEY_DIGEST = 3;
+    static final int KEY_USER_KEY = 4;
+
+    // Value.
+    static final int VALUE_NIL = 1;
+    static final int VALUE_INTEGER = 2;
+    static final int VALUE_DOUBLE = 3;
+    static final int VALUE_STRING = 4;
+    static final int VALUE_BOOL = 5;
+    static final int VALUE_BLOB = 6;
+    static final int VALUE_GEOJSON = 7;
+    static final int VALUE_LIST = 8;
+    static final int VALUE_MAP = 9;
+
+    // Blob.
+    static final int BLOB_PARTICLE_TYPE = 1;
+    static final int BLOB_DATA = 2;
+
+    // ListValue and MapValue.
+    static final int LIST_VALUES = 1;
+    static final int MAP_ENTRIES = 1;
+
+    private ProtobufFields() {
+    }
+
+    static int operationNumber(AerospikeOperation operation) {
+        switch (operation) {
+            case WRITE:
+                return 0;
+            case DELETE:
+                return 1;
+            case DURABLE_DELETE:
+                return 2;
+            default:
+                throw new IllegalArgumentException(
+                        "unsupported operation " + operation);
+        }
+    }
+
+    static AerospikeOperation toOperation(int number) throws IOException {
+        switch (number) {
+            case 0:
+                return AerospikeOperation.WRITE;
+            case 1:
+                return AerospikeOperation.DELETE;
+            case 2:
+                return AerospikeOperation.DURABLE_DELETE;
+            default:
+                throw new IOException(
+                        "malformed record, unknown operation " + number);
+        }
+    }
+
+    static int recordExistsActionNumber(RecordExistsAction action) {
+        switch (action) {
+            case UPDATE:
+                return 0;
+            case UPDATE_ONLY:
+                return 1;
+            case REPLACE:
+                return 2;
+            case REPLACE_ONLY:
+                return 3;
+            case CREATE_ONLY:
+                return 4;
+            default:
+                throw new IllegalArgumentException(
+                        "unsupported record exists action " + action);
+        }
+    }
+
+    static RecordExistsAction toRecordExistsAction(int number)
+            throws IOException {
+        switch (number) {
+            case 0:
+                return RecordExistsAction.UPDATE;
+            case 1:
+                return RecordExistsAction.UPDATE_ONLY;
+            case 2:
+                return RecordExistsAction.REPLACE;
+            case 3:
+                return RecordExistsAction.REPLACE_ONLY;
+            case 4:
+                return RecordExistsAction.CREATE_ONLY;
+            default:
+                throw new IOException(
+                        "malformed record, unknown record exists action " +
+                                number);
+        }
+    }
+
+    static int generationPolicyNumber(GenerationPolicy policy) {
+        switch (policy) {
+            case NONE:
+                return 0;
+            case EXPECT_GEN_EQUAL:
+                return 1;
+            case EXPECT_GEN_GT:
+                return 2;
+            default:
+                throw new IllegalArgumentException(
+                        "unsupported generation policy " + policy);
+        }
+    }
+
+    static GenerationPolicy toGenerationPolicy(int number) throws IOException {
+        switch (number) {
+            case 0:
+                return GenerationPolicy.NONE;
+            case 1:
+                return GenerationPolicy.EXPECT_GEN_EQUAL;
+            case 2:
+                return GenerationPolicy.EXPECT_GEN_GT;
+            default:
+                throw new IOException(
+                        "malformed record, unknown generation policy " +
+                                number);
+        }
+    }
+}
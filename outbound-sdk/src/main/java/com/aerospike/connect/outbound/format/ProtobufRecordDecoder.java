@@ -0,0 +1,518 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Value;
+import com.aerospike.connect.outbound.ChangeNotificationMetadata;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.ParticleType;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.aerospike.connect.outbound.format.ProtobufFields.BLOB_DATA;
+import static com.aerospike.connect.outbound.format.ProtobufFields.BLOB_PARTICLE_TYPE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.ENTRY_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.ENTRY_VALUE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_DIGEST;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_NAMESPACE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_SET;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_USER_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.LIST_VALUES;
+import static com.aerospike.connect.outbound.format.ProtobufFields.MAP_ENTRIES;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_EXPIRY_TIME;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_GENERATION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_GENERATION_POLICY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_LAST_UPDATE_TIME_MS;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_OPERATION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_RECORD_EXISTS_ACTION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.RECORD_BINS;
+import static com.aerospike.connect.outbound.format.ProtobufFields.RECORD_METADATA;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_BLOB;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_BOOL;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_DOUBLE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_GEOJSON;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_INTEGER;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_LIST;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_MAP;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_NIL;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_STRING;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_FIXED32;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_FIXED64;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_LENGTH_DELIMITED;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_VARINT;
+import static com.aerospike.connect.outbound.format.ProtobufFields.toGenerationPolicy;
+import static com.aerospike.connect.outbound.format.ProtobufFields.toOperation;
+import static com.aerospike.connect.outbound.format.ProtobufFields.toRecordExistsAction;
+
+/**
+ * Decode records encoded by {@link ProtobufRecordEncoder}, for consumers of
+ * the {@link MediaType#PROTOBUF} payloads in Java.
+ *
+ * <p>
+ * The bin values are decoded into the same types as the bins of records
+ * shipped by Aerospike change notification: integers into {@link Long},
+ * blobs into {@link Value.BytesValue BytesValue} of their particle type,
+ * GeoJSON into {@link Value.GeoJSONValue GeoJSONValue}, lists into {@link
+ * List} and maps into {@link Map} preserving the encoded order. Unknown fields
+ * are skipped, known fields with an unexpected wire type and values nested
+ * more than {@value #MAX_NESTING_DEPTH} levels deep fail the record.
+ *
+ * <p>
+ * This class is thread safe.
+ */
+public final class ProtobufRecordDecoder {
+    /**
+     * The maximum number of lists and maps a value is nested in, the default
+     * recursion limit of the Protobuf Java runtime.
+     */
+    private static final int MAX_NESTING_DEPTH = 100;
+
+    /**
+     * Decode a record.
+     *
+     * @param payload the encoded record.
+     * @return the decoded record.
+     * @throws IOException if the payload is malformed.
+     */
+    public ChangeNotificationRecord decode(@NonNull byte[] payload)
+            throws IOException {
+        return decode(payload, 0, payload.length);
+    }
+
+    /**
+     * Decode a record.
+     *
+     * @param payload the buffer with the encoded record.
+     * @param offset  the offset of the encoded record in the buffer.
+     * @param length  the length of the encoded record.
+     * @return the decoded record.
+     * @throws IOException if the payload is malformed.
+     */
+    public ChangeNotificationRecord decode(@NonNull byte[] payload,
+                                           int offset, int length)
+            throws IOException {
+        if (offset < 0 || length < 0 || length > payload.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        Reader reader = new Reader(payload, offset);
+        int end = offset + length;
+        ChangeNotificationMetadata metadata = null;
+        Map<String, Object> bins = new LinkedHashMap<>();
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case RECORD_METADATA:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    metadata = readMetadata(reader, reader.readLimit(end));
+                    break;
+                case RECORD_BINS:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    readBin(reader, reader.readLimit(end), bins);
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+
+        if (metadata == null) {
+            throw new IOException("malformed record, missing metadata");
+        }
+        return new ChangeNotificationRecord(metadata, bins);
+    }
+
+    private static ChangeNotificationMetadata readMetadata(Reader reader,
+                                                           int end)
+            throws IOException {
+        Key key = null;
+        int operation = 0;
+        Integer generation = null;
+        Long lastUpdateTimeMs = null;
+        Integer expiryTime = null;
+        int recordExistsAction = 0;
+        int generationPolicy = 0;
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case METADATA_KEY:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    key = readKey(reader, reader.readLimit(end));
+                    break;
+                case METADATA_OPERATION:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    operation = (int) reader.readVarint(end);
+                    break;
+                case METADATA_GENERATION:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    generation = (int) reader.readVarint(end);
+                    break;
+                case METADATA_LAST_UPDATE_TIME_MS:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    lastUpdateTimeMs = reader.readVarint(end);
+                    break;
+                case METADATA_EXPIRY_TIME:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    expiryTime = (int) reader.readVarint(end);
+                    break;
+                case METADATA_RECORD_EXISTS_ACTION:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    recordExistsAction = (int) reader.readVarint(end);
+                    break;
+                case METADATA_GENERATION_POLICY:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    generationPolicy = (int) reader.readVarint(end);
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+
+        if (key == null) {
+            throw new IOException("malformed record, missing key");
+        }
+
+        return new ChangeNotificationMetadata(key, toOperation(operation),
+                generation, lastUpdateTimeMs, expiryTime,
+                toRecordExistsAction(recordExistsAction),
+                toGenerationPolicy(generationPolicy));
+    }
+
+    private static Key readKey(Reader reader, int end) throws IOException {
+        String namespace = "";
+        String setName = null;
+        byte[] digest = null;
+        Value userKey = null;
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case KEY_NAMESPACE:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    namespace = reader.readString(end);
+                    break;
+                case KEY_SET:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    setName = reader.readString(end);
+                    break;
+                case KEY_DIGEST:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    digest = reader.readBytes(end);
+                    break;
+                case KEY_USER_KEY:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    userKey = Value.get(readValue(reader,
+                            reader.readLimit(end), 0));
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+
+        if (digest == null) {
+            throw new IOException("malformed record, missing key digest");
+        }
+        return new Key(namespace, digest, setName, userKey);
+    }
+
+    private static void readBin(Reader reader, int end,
+                                Map<String, Object> bins)
+            throws IOException {
+        String name = "";
+        Object value = null;
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case ENTRY_KEY:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    name = reader.readString(end);
+                    break;
+                case ENTRY_VALUE:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = readValue(reader, reader.readLimit(end), 0);
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+        bins.put(name, value);
+    }
+
+    /**
+     * Read a value nested in {@code depth} lists and maps.
+     */
+    @Nullable
+    private static Object readValue(Reader reader, int end, int depth)
+            throws IOException {
+        Object value = null;
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case VALUE_NIL:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    reader.readVarint(end);
+                    value = null;
+                    break;
+                case VALUE_INTEGER: {
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    long zigZag = reader.readVarint(end);
+                    value = (zigZag >>> 1) ^ -(zigZag & 1);
+                    break;
+                }
+                case VALUE_DOUBLE:
+                    reader.checkWireType(tag, WIRE_TYPE_FIXED64);
+                    value = Double.longBitsToDouble(reader.readFixed64(end));
+                    break;
+                case VALUE_STRING:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = reader.readString(end);
+                    break;
+                case VALUE_BOOL:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    value = reader.readVarint(end) != 0;
+                    break;
+                case VALUE_BLOB:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = readBlob(reader, reader.readLimit(end));
+                    break;
+                case VALUE_GEOJSON:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = new Value.GeoJSONValue(reader.readString(end));
+                    break;
+                case VALUE_LIST:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = readList(reader, reader.readLimit(end),
+                            nestedDepth(depth));
+                    break;
+                case VALUE_MAP:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    value = readMap(reader, reader.readLimit(end),
+                            nestedDepth(depth));
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+        return value;
+    }
+
+    private static Value.BytesValue readBlob(Reader reader, int end)
+            throws IOException {
+        int particleType = ParticleType.BLOB.getValue();
+        byte[] data = new byte[0];
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            switch (tag >>> 3) {
+                case BLOB_PARTICLE_TYPE:
+                    reader.checkWireType(tag, WIRE_TYPE_VARINT);
+                    particleType = (int) reader.readVarint(end);
+                    break;
+                case BLOB_DATA:
+                    reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                    data = reader.readBytes(end);
+                    break;
+                default:
+                    reader.skip(tag, end);
+            }
+        }
+        return new Value.BytesValue(data, particleType);
+    }
+
+    private static List<Object> readList(Reader reader, int end, int depth)
+            throws IOException {
+        List<Object> list = new ArrayList<>();
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            if (tag >>> 3 == LIST_VALUES) {
+                reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+                list.add(readValue(reader, reader.readLimit(end), depth));
+            } else {
+                reader.skip(tag, end);
+            }
+        }
+        return list;
+    }
+
+    private static Map<Object, Object> readMap(Reader reader, int end,
+                                               int depth)
+            throws IOException {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        while (reader.position < end) {
+            int tag = reader.readTag(end);
+            if (tag >>> 3 != MAP_ENTRIES) {
+                reader.skip(tag, end);
+                continue;
+            }
+
+            reader.checkWireType(tag, WIRE_TYPE_LENGTH_DELIMITED);
+            int entryEnd = reader.readLimit(end);
+            Object key = null;
+            Object value = null;
+            while (reader.position < entryEnd) {
+                int entryTag = reader.readTag(entryEnd);
+                switch (entryTag >>> 3) {
+                    case ENTRY_KEY:
+                        reader.checkWireType(entryTag,
+                                WIRE_TYPE_LENGTH_DELIMITED);
+                        key = readValue(reader, reader.readLimit(entryEnd),
+                                depth);
+                        break;
+                    case ENTRY_VALUE:
+                        reader.checkWireType(entryTag,
+                                WIRE_TYPE_LENGTH_DELIMITED);
+                        value = readValue(reader, reader.readLimit(entryEnd),
+                                depth);
+                        break;
+                    default:
+                        reader.skip(entryTag, entryEnd);
+                }
+            }
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    private static int nestedDepth(int depth) throws IOException {
+        if (depth >= MAX_NESTING_DEPTH) {
+            throw new IOException("malformed record, values nested deeper " +
+                    "than " + MAX_NESTING_DEPTH);
+        }
+        return depth + 1;
+    }
+
+    /**
+     * Read the Protobuf wire format from a byte array. Reads are bounded by
+     * the end of the enclosing message.
+     */
+    private static class Reader {
+        private final byte[] buffer;
+
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readTag(int end) throws IOException {
+            long tag = readVarint(end);
+            if (tag >>> 3 == 0 || tag > Integer.MAX_VALUE) {
+                throw new IOException("malformed record, invalid tag " + tag);
+            }
+            return (int) tag;
+        }
+
+        long readVarint(int end) throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= end) {
+                    throw new IOException("malformed record, truncated");
+                }
+
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed record, invalid varint");
+        }
+
+        long readFixed64(int end) throws IOException {
+            checkRemaining(8, end);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (long) (buffer[position++] & 0xFF) << (8 * i);
+            }
+            return value;
+        }
+
+        /**
+         * Read the length of a length delimited field.
+         *
+         * @return the end of the field.
+         */
+        int readLimit(int end) throws IOException {
+            long length = readVarint(end);
+            if (length > end - position) {
+                throw new IOException("malformed record, truncated");
+            }
+            return position + (int) length;
+        }
+
+        byte[] readBytes(int end) throws IOException {
+            int fieldEnd = readLimit(end);
+            byte[] bytes = Arrays.copyOfRange(buffer, position, fieldEnd);
+            position = fieldEnd;
+            return bytes;
+        }
+
+        String readString(int end) throws IOException {
+            int fieldEnd = readLimit(end);
+            String value = new String(buffer, position, fieldEnd - position,
+                    StandardCharsets.UTF_8);
+            position = fieldEnd;
+            return value;
+        }
+
+        void checkWireType(int tag, int wireType) throws IOException {
+            if ((tag & 0x7) != wireType) {
+                throw new IOException("malformed record, field " +
+                        (tag >>> 3) + " has wire type " + (tag & 0x7));
+            }
+        }
+
+        void skip(int tag, int end) throws IOException {
+            switch (tag & 0x7) {
+                case WIRE_TYPE_VARINT:
+                    readVarint(end);
+                    break;
+                case WIRE_TYPE_FIXED64:
+                    checkRemaining(8, end);
+                    position += 8;
+                    break;
+                case WIRE_TYPE_LENGTH_DELIMITED:
+                    position = readLimit(end);
+                    break;
+                case WIRE_TYPE_FIXED32:
+                    checkRemaining(4, end);
+                    position += 4;
+                    break;
+                default:
+                    throw new IOException(
+                            "malformed record, unsupported wire type " +
+                                    (tag & 0x7));
+            }
+        }
+
+        private void checkRemaining(int length, int end) throws IOException {
+            if (end - position < length) {
+                throw new IOException("malformed record, truncated");
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.client.Key;
+import com.aerospike.client.Value;
+import com.aerospike.connect.outbound.ChangeNotificationMetadata;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.ParticleType;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static com.aerospike.connect.outbound.format.ProtobufFields.BLOB_DATA;
+import static com.aerospike.connect.outbound.format.ProtobufFields.BLOB_PARTICLE_TYPE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.ENTRY_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.ENTRY_VALUE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_DIGEST;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_NAMESPACE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_SET;
+import static com.aerospike.connect.outbound.format.ProtobufFields.KEY_USER_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.LIST_VALUES;
+import static com.aerospike.connect.outbound.format.ProtobufFields.MAP_ENTRIES;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_EXPIRY_TIME;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_GENERATION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_GENERATION_POLICY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_KEY;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_LAST_UPDATE_TIME_MS;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_OPERATION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.METADATA_RECORD_EXISTS_ACTION;
+import static com.aerospike.connect.outbound.format.ProtobufFields.RECORD_BINS;
+import static com.aerospike.connect.outbound.format.ProtobufFields.RECORD_METADATA;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_BLOB;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_BOOL;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_DOUBLE;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_GEOJSON;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_INTEGER;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_LIST;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_MAP;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_NIL;
+import static com.aerospike.connect.outbound.format.ProtobufFields.VALUE_STRING;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_FIXED64;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_LENGTH_DELIMITED;
+import static com.aerospike.connect.outbound.format.ProtobufFields.WIRE_TYPE_VARINT;
+import static com.aerospike.connect.outbound.format.ProtobufFields.generationPolicyNumber;
+import static com.aerospike.connect.outbound.format.ProtobufFields.operationNumber;
+import static com.aerospike.connect.outbound.format.ProtobufFields.recordExistsActionNumber;
+
+/**
+ * Encode records into the Protobuf encoding defined by {@code
+ * change_notification.proto}, shipped in the SDK jar next to this class. The
+ * encoded records have the {@link MediaType#PROTOBUF} media type and are
+ * decoded by {@link ProtobufRecordDecoder} or by classes generated from the
+ * proto file.
+ *
+ * <p>
+ * {@link Value.BytesValue BytesValue} and <code>byte[]</code> are encoded as
+ * blobs with their particle type, {@link Value.GeoJSONValue GeoJSONValue} as
+ * GeoJSON strings, and the CDT lists and maps as nested list and map values.
+ *
+ * <p>
+ * This class is thread safe.
+ */
+public final class ProtobufRecordEncoder {
+    /**
+     * Encode the record.
+     *
+     * @param record the record.
+     * @return the encoded record.
+     * @throws IllegalArgumentException if a bin value type is not supported.
+     */
+    public byte[] encode(@NonNull ChangeNotificationRecord record) {
+        Writer writer = new Writer();
+        writeRecord(writer, record);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encode the record to the stream.
+     *
+     * @param out    the stream to write to.
+     * @param record the record.
+     * @throws IOException              if failed to write to the stream.
+     * @throws IllegalArgumentException if a bin value type is not supported.
+     */
+    public void encode(@NonNull OutputStream out,
+                       @NonNull ChangeNotificationRecord record)
+            throws IOException {
+        Writer writer = new Writer();
+        writeRecord(writer, record);
+        writer.writeTo(out);
+    }
+
+    private static void writeRecord(Writer writer,
+                                    ChangeNotificationRecord record) {
+        int metadata = writer.beginMessage(RECORD_METADATA);
+        writeMetadata(writer, record.getMetadata());
+        writer.endMessage(metadata);
+
+        for (Map.Entry<String, Object> bin : record.getBins().entrySet()) {
+            int entry = writer.beginMessage(RECORD_BINS);
+            writer.writeString(ENTRY_KEY, bin.getKey());
+            int value = writer.beginMessage(ENTRY_VALUE);
+            writeValue(writer, bin.getValue());
+            writer.endMessage(value);
+            writer.endMessage(entry);
+        }
+    }
+
+    private static void writeMetadata(Writer writer,
+                                      ChangeNotificationMetadata metadata) {
+        int key = writer.beginMessage(METADATA_KEY);
+        writeKey(writer, metadata.getKey());
+        writer.endMessage(key);
+
+        writer.writeEnum(METADATA_OPERATION,
+                operationNumber(metadata.getOperation()));
+        if (metadata.hasGeneration()) {
+            writer.writeTag(METADATA_GENERATION, WIRE_TYPE_VARINT);
+            writer.writeVarint(metadata.generationAsInt());
+        }
+
+        if (metadata.hasLastUpdateTimeMs()) {
+            writer.writeTag(METADATA_LAST_UPDATE_TIME_MS, WIRE_TYPE_VARINT);
+            writer.writeVarint(metadata.lastUpdateTimeMsAsLong());
+        }
+
+        if (metadata.hasExpiryTime()) {
+            writer.writeTag(METADATA_EXPIRY_TIME, WIRE_TYPE_VARINT);
+            writer.writeVarint(metadata.expiryTimeAsInt());
+        }
+
+        writer.writeEnum(METADATA_RECORD_EXISTS_ACTION,
+                recordExistsActionNumber(metadata.getRecordExistsAction()));
+        writer.writeEnum(METADATA_GENERATION_POLICY,
+                generationPolicyNumber(metadata.getGenerationPolicy()));
+    }
+
+    private static void writeKey(Writer writer, Key key) {
+        writer.writeString(KEY_NAMESPACE, key.namespace);
+        if (key.setName != null) {
+            writer.writeString(KEY_SET, key.setName);
+        }
+
+        writer.writeBytes(KEY_DIGEST, key.digest);
+        if (key.userKey != null && key.userKey.getObject() != null) {
+            int userKey = writer.beginMessage(KEY_USER_KEY);
+            writeValue(writer, key.userKey);
+            writer.endMessage(userKey);
+        }
+    }
+
+    private static void writeValue(Writer writer, @Nullable Object value) {
+        if (value == null) {
+            writer.writeTag(VALUE_NIL, WIRE_TYPE_VARINT);
+            writer.writeVarint(1);
+        } else if (value instanceof Long || value instanceof Integer ||
+                value instanceof Short || value instanceof Byte) {
+            long number = ((Number) value).longValue();
+            writer.writeTag(VALUE_INTEGER, WIRE_TYPE_VARINT);
+            writer.writeVarint((number << 1) ^ (number >> 63));
+        } else if (value instanceof Double || value instanceof Float) {
+            writer.writeTag(VALUE_DOUBLE, WIRE_TYPE_FIXED64);
+            writer.writeFixed64(Double.doubleToRawLongBits(
+                    ((Number) value).doubleValue()));
+        } else if (value instanceof String) {
+            writer.writeString(VALUE_STRING, (String) value);
+        } else if (value instanceof Boolean) {
+            writer.writeTag(VALUE_BOOL, WIRE_TYPE_VARINT);
+            writer.writeVarint((Boolean) value ? 1 : 0);
+        } else if (value instanceof byte[]) {
+            writeBlob(writer, ParticleType.BLOB.getValue(), (byte[]) value);
+        } else if (value instanceof Value.BytesValue) {
+            Value.BytesValue bytesValue = (Value.BytesValue) value;
+            writeBlob(writer, bytesValue.getType(),
+                    (byte[]) bytesValue.getObject());
+        } else if (value instanceof Value.GeoJSONValue) {
+            writer.writeString(VALUE_GEOJSON,
+                    (String) ((Value) value).getObject());
+        } else if (value instanceof Value) {
+            Object object = ((Value) value).getObject();
+            if (object instanceof Value) {
+                throw new IllegalArgumentException(
+                        "unsupported bin value type " + value.getClass());
+            }
+            writeValue(writer, object);
+        } else if (value instanceof Collection) {
+            int list = writer.beginMessage(VALUE_LIST);
+            for (Object element : (Collection<?>) value) {
+                int elementValue = writer.beginMessage(LIST_VALUES);
+                writeValue(writer, element);
+                writer.endMessage(elementValue);
+            }
+            writer.endMessage(list);
+        } else if (value instanceof Map) {
+            int map = writer.beginMessage(VALUE_MAP);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                int mapEntry = writer.beginMessage(MAP_ENTRIES);
+                int key = writer.beginMessage(ENTRY_KEY);
+                writeValue(writer, entry.getKey());
+                writer.endMessage(key);
+                int entryValue = writer.beginMessage(ENTRY_VALUE);
+                writeValue(writer, entry.getValue());
+                writer.endMessage(entryValue);
+                writer.endMessage(mapEntry);
+            }
+            writer.endMessage(map);
+        } else {
+            throw new IllegalArgumentException(
+                    "unsupported bin value type " + value.getClass());
+        }
+    }
+
+    private static void writeBlob(Writer writer, int particleType,
+                                  byte[] data) {
+        int blob = writer.beginMessage(VALUE_BLOB);
+        writer.writeTag(BLOB_PARTICLE_TYPE, WIRE_TYPE_VARINT);
+        writer.writeVarint(particleType);
+        writer.writeBytes(BLOB_DATA, data);
+        writer.endMessage(blob);
+    }
+
+    /**
+     * Write the Protobuf wire format into a growable byte array.
+     */
+    private static class Writer {
+        private byte[] buffer = new byte[256];
+
+        private int length;
+
+        void writeTag(int fieldNumber, int wireType) {
+            writeVarint(((long) fieldNumber << 3) | wireType);
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void writeFixed64(long value) {
+            ensureCapacity(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[length++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        /**
+         * Write an enum field, omitting the default first value as proto3
+         * does.
+         */
+        void writeEnum(int fieldNumber, int value) {
+            if (value != 0) {
+                writeTag(fieldNumber, WIRE_TYPE_VARINT);
+                writeVarint(value);
+            }
+        }
+
+        void writeBytes(int fieldNumber, byte[] value) {
+            writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+            writeVarint(value.length);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, buffer, length, value.length);
+            length += value.length;
+        }
+
+        void writeString(int fieldNumber, String value) {
+            writeBytes(fieldNumber, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Start a nested message field, reserving a byte for its length.
+         *
+         * @return the start of the nested message to pass to {@link
+         * #endMessage}.
+         */
+        int beginMessage(int fieldNumber) {
+            writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+            ensureCapacity(1);
+            length++;
+            return length;
+        }
+
+        /**
+         * End a nested message field, writing its length before it. Messages
+         * of 128 bytes or more are moved to make room for a longer length.
+         */
+        void endMessage(int start) {
+            int size = length - start;
+            int extraBytes = varintSize(size) - 1;
+            if (extraBytes > 0) {
+                ensureCapacity(extraBytes);
+                System.arraycopy(buffer, start, buffer, start + extraBytes,
+                        size);
+                length += extraBytes;
+            }
+
+            int position = start - 1;
+            long value = size;
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(buffer, 0, length);
+        }
+
+        private static int varintSize(int value) {
+            int size = 1;
+            while ((value & ~0x7F) != 0) {
+                size++;
+                value >>>= 7;
+            }
+            return size;
+        }
+
+        private void ensureCapacity(int required) {
+            if (buffer.length - length >= required) {
+                return;
+            }
+
+            long capacity = Math.max((long) length + required,
+                    2L * buffer.length);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("encoded record too large");
+            }
+            buffer = Arrays.copyOf(buffer, (int) capacity);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.format;
+
+import com.aerospike.connect.outbound.esp.EspOutboundMetadata;
+import com.aerospike.connect.outbound.pulsar.PulsarOutboundMetadata;
+import lombok.NonNull;
+
+import java.io.OutputStream;
+
+/**
+ * Format the Aerospike record into a payload written directly to a sink
+ * provided by the outbound destination.
+ *
+ * <p>
+ * This interface is the streaming counterpart of {@link Formatter}. The
+ * payload is written to the output stream, which is backed by the buffers of
+ * the outbound destination producer, instead of being returned as a byte
+ * array. Formatters of large payloads avoid allocating the payload and copying
+ * it into the producer buffers.
+ *
+ * <p>
+ * The implementing code should specify the type {@code T} applicable to the
+ * outbound destination - like {@link EspOutboundMetadata} for ESP (Event Stream
+ * Processing) destination, {@link PulsarOutboundMetadata} for Pulsar
+ * destination, etc.
+ *
+ * @param <T> the metadata associated with the outbound record.
+ */
+public interface StreamingFormatter<T extends OutboundMetadata> {
+    /**
+     * Format a record into a custom format written to the payload stream.
+     *
+     * <p>
+     * The return types should be instances of
+     * <ul>
+     *     <li>{@link BytesOutboundRecord} with the media type and metadata of
+     *     the payload written to the stream. The payload of the returned
+     *     record is ignored and should be {@code null}.
+     *     </li>
+     *     <li>{@link SkipOutboundRecord} to skip dispatching the change
+     *     notification record to the outbound destination. Any bytes written
+     *     to the stream are discarded.</li>
+     * </ul>
+     *
+     * <p>
+     * The stream should not be closed nor retained after this method returns.
+     * It does not need to be buffered, writes go directly to the producer
+     * buffers.
+     *
+     * <p>
+     * When an exception is thrown by this method, any bytes written to the
+     * stream are discarded and the record is acknowledged with temporary error
+     * to Aerospike XDR change notification. Aerospike XDR change notification
+     * will resend the change notification record on a temporary error.
+     *
+     * @param formatterInput the record to be formatted and the formatted
+     *                       record.
+     * @param payload        the stream to write the payload to.
+     * @return the outbound record describing the written payload.
+     * @throws Exception if failed to format the record. The record is
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    OutboundRecord<T> format(@NonNull FormatterInput<T> formatterInput,
+                             @NonNull OutputStream payload) throws Exception;
+}
@@ -19,15 +19,46 @@
 package com.aerospike.connect.outbound.jms;
 
 import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
+import com.aerospike.connect.outbound.routing.OutboundRouteInterner;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import lombok.NonNull;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Outbound route to a JMS destination.
  */
 public class JmsOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The canonical routes for each route type.
+     */
+    private static final Map<OutboundRouteType,
+            OutboundRouteInterner<String, JmsOutboundRoute>> routes =
+            new EnumMap<>(OutboundRouteType.class);
+
+    static {
+        for (OutboundRouteType type : OutboundRouteType.values()) {
+            routes.put(type, new OutboundRouteInterner<>(
+                    route -> new JmsOutboundRoute(type, route)));
+        }
+    }
+
     public JmsOutboundRoute(@NonNull OutboundRouteType type,
                             @NonNull String route) {
         super(type, route);
     }
+
+    /**
+     * Get the canonical route to a JMS destination. Prefer this method over
+     * creating a new route for every record.
+     *
+     * @param type  the type of the JMS destination.
+     * @param route the JMS destination.
+     * @return the canonical route.
+     */
+    public static JmsOutboundRoute of(@NonNull OutboundRouteType type,
+                                      @NonNull String route) {
+        return routes.get(type).intern(route);
+    }
 }
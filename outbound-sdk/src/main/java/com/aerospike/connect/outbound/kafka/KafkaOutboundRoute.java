@@ -19,6 +19,7 @@
 package com.aerospike.connect.outbound.kafka;
 
 import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
+import com.aerospike.connect.outbound.routing.OutboundRouteInterner;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import lombok.NonNull;
 
@@ -26,7 +27,24 @@ import lombok.NonNull;
  * Outbound route to a Kafka topic.
  */
 public class KafkaOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The canonical routes.
+     */
+    private static final OutboundRouteInterner<String, KafkaOutboundRoute>
+            routes = new OutboundRouteInterner<>(KafkaOutboundRoute::new);
+
     public KafkaOutboundRoute(@NonNull String route) {
         super(OutboundRouteType.TOPIC, route);
     }
+
+    /**
+     * Get the canonical route to a Kafka topic. Prefer this method over
+     * creating a new route for every record.
+     *
+     * @param route the Kafka topic.
+     * @return the canonical route.
+     */
+    public static KafkaOutboundRoute of(@NonNull String route) {
+        return routes.intern(route);
+    }
 }
@@ -49,6 +49,7 @@
  *
  * @see com.aerospike.connect.outbound.routing.Router
  * @see com.aerospike.connect.outbound.transformer.Transformer
+ * @see com.aerospike.connect.outbound.transformer.BatchTransformer
  * @see com.aerospike.connect.outbound.format.Formatter
  * @see com.aerospike.connect.outbound.format.BatchFormatter
  */
@@ -19,8 +19,10 @@
 package com.aerospike.connect.outbound.pubsub;
 
 import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
+import com.aerospike.connect.outbound.routing.OutboundRouteInterner;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import jakarta.annotation.Nullable;
+import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
@@ -31,10 +33,18 @@ import java.util.Optional;
 /**
  * The route to a Google Pub/Sub destination.
  */
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true,
+        cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 @Getter
 @ToString
 public class PubSubOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The canonical routes by topic and regional endpoint.
+     */
+    private static final OutboundRouteInterner<RouteKey, PubSubOutboundRoute>
+            routes = new OutboundRouteInterner<>(
+            key -> new PubSubOutboundRoute(key.topic, key.regionalEndpoint));
+
     /**
      * The regional endpoint to publish the Google Pub/Sub message to. Ignored
      * for Google Pub/Sub Lite destinations.
@@ -48,6 +58,22 @@ public class PubSubOutboundRoute extends DefaultOutboundRoute<String> {
         this.regionalEndpoint = regionalEndpoint;
     }
 
+    /**
+     * Get the canonical route to a Google Pub/Sub topic. Prefer this method
+     * over creating a new route for every record. At most {@link
+     * OutboundRouteInterner#DEFAULT_MAX_SIZE} routes are interned across all
+     * the topics and regional endpoints.
+     *
+     * @param topic            the Google Pub/Sub topic.
+     * @param regionalEndpoint the regional endpoint to publish the Google
+     *                         Pub/Sub message to.
+     * @return the canonical route.
+     */
+    public static PubSubOutboundRoute of(@NonNull String topic,
+                                         @Nullable String regionalEndpoint) {
+        return routes.intern(new RouteKey(topic, regionalEndpoint));
+    }
+
     /**
      * The Google Pub/Sub topic name. Route returned by {@link #getRoute()} is a
      * Pub/Sub topic.
@@ -67,4 +93,17 @@ public class PubSubOutboundRoute extends DefaultOutboundRoute<String> {
     public Optional<String> getRegionalEndpoint() {
         return Optional.ofNullable(regionalEndpoint);
     }
+
+    /**
+     * The key of a canonical route.
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class RouteKey {
+        @NonNull
+        private final String topic;
+
+        @Nullable
+        private final String regionalEndpoint;
+    }
 }
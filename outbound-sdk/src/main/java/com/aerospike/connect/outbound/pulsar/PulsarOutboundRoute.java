@@ -19,6 +19,7 @@
 package com.aerospike.connect.outbound.pulsar;
 
 import com.aerospike.connect.outbound.routing.DefaultOutboundRoute;
+import com.aerospike.connect.outbound.routing.OutboundRouteInterner;
 import com.aerospike.connect.outbound.routing.OutboundRouteType;
 import lombok.NonNull;
 
@@ -26,7 +27,24 @@ import lombok.NonNull;
  * Outbound route to a Pulsar topic.
  */
 public class PulsarOutboundRoute extends DefaultOutboundRoute<String> {
+    /**
+     * The canonical routes.
+     */
+    private static final OutboundRouteInterner<String, PulsarOutboundRoute>
+            routes = new OutboundRouteInterner<>(PulsarOutboundRoute::new);
+
     public PulsarOutboundRoute(@NonNull String route) {
         super(OutboundRouteType.TOPIC, route);
     }
+
+    /**
+     * Get the canonical route to a Pulsar topic. Prefer this method over
+     * creating a new route for every record.
+     *
+     * @param route the Pulsar topic.
+     * @return the canonical route.
+     */
+    public static PulsarOutboundRoute of(@NonNull String route) {
+        return routes.intern(route);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.pubsub.PubSubOutboundRoute;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route a batch of records to the outbound destinations.
+ *
+ * <p>
+ * This interface is the batch counterpart of {@link Router}. The records are
+ * returned grouped by their route, so that the batches handed to the
+ * formatters and the outbound destination are already partitioned by
+ * destination.
+ *
+ * @param <T> the type of the outbound route. Should be a String type for ESP
+ *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
+ *            PubSubOutboundRoute PubSubOutboundRoute} type for Google Pub/Sub.
+ */
+public interface BatchRouter<T> {
+    /**
+     * Get the routes for a batch of records.
+     *
+     * <p>
+     * Each of the input records should be present in exactly one of the
+     * groups, and the records in a group should be in the same order as in the
+     * input. The records grouped under a route with route type {@link
+     * OutboundRouteType#SKIP SKIP} are skipped, and not dispatched to the
+     * outbound destination.
+     *
+     * <p>
+     * When an exception is thrown by this method, all the records in the
+     * batch are acknowledged with temporary error to Aerospike XDR change
+     * notification. Aerospike XDR change notification will resend all the
+     * change notification records in the batch on a temporary error.
+     *
+     * @param records the change notification records in the batch.
+     * @return the records grouped by their route.
+     * @throws Exception if failed to route the records. The records are
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    Map<OutboundRoute<T>, List<ChangeNotificationRecord>> getRoutes(
+            @NonNull List<ChangeNotificationRecord> records) throws Exception;
+}
@@ -24,7 +24,8 @@ import lombok.NonNull;
 import lombok.ToString;
 
 /**
- * A default implementation of {@link OutboundRoute}.
+ * A default implementation of {@link OutboundRoute}. The hash code is cached
+ * so that routes can be used as keys for grouping records cheaply.
  *
  * @param <T> the type of the outbound route. Should be a String type for ESP
  *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
@@ -32,7 +33,7 @@ import lombok.ToString;
  *            PubSubOutboundRoute} type for Google Pub/Sub.
  */
 @AllArgsConstructor
-@EqualsAndHashCode
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 @ToString
 public class DefaultOutboundRoute<T> implements OutboundRoute<T> {
     /**
@@ -0,0 +1,75 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.pubsub.PubSubOutboundRoute;
+import lombok.NonNull;
+
+import java.util.Set;
+
+/**
+ * Route records to several routes of the outbound destination.
+ *
+ * <p>
+ * This interface is the fan-out counterpart of {@link Router}. The record is
+ * transformed once, and when a built-in format is configured the record is
+ * formatted once; the same transformed record and payload are dispatched to
+ * every returned route. A custom formatter is invoked once per route since its
+ * output may depend on the route.
+ *
+ * <p>
+ * The routes are all of the outbound destination of the connector, for
+ * example several Kafka topics of the Kafka connector. Dispatching a record to
+ * destinations of different types still needs a connector for each type.
+ *
+ * @param <T> the type of the outbound route. Should be a String type for ESP
+ *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
+ *            PubSubOutboundRoute PubSubOutboundRoute} type for Google Pub/Sub.
+ */
+public interface MultiRouter<T> {
+    /**
+     * Get the routes for the record.
+     *
+     * <p>
+     * If the returned set is empty then the change notification record is
+     * skipped, and not dispatched to the outbound destination. Routes with
+     * route type {@link OutboundRouteType#SKIP SKIP} in the set are ignored.
+     *
+     * <p>
+     * The record is acknowledged to Aerospike XDR change notification only
+     * after it is dispatched to all the routes. If dispatching to any of the
+     * routes fails, the record is acknowledged with temporary error and
+     * Aerospike XDR change notification will resend it to all the routes.
+     *
+     * <p>
+     * When an exception is thrown by this method, the record is acknowledged
+     * with temporary error to Aerospike XDR change notification. Aerospike XDR
+     * change notification will resend the change notification record on a
+     * temporary error.
+     *
+     * @param record the change notification record.
+     * @return the routes for the record.
+     * @throws Exception if failed to route the record. The record is
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    Set<OutboundRoute<T>> getRoutes(@NonNull ChangeNotificationRecord record)
+            throws Exception;
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import lombok.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Interns outbound routes, returning a canonical route instance for each
+ * route key instead of creating a new route for every record.
+ *
+ * <p>
+ * Canonical routes compare equal by identity, and cache their hash code, so
+ * that grouping records by route is cheap. Since route keys may be derived
+ * from record contents, the number of interned routes is bounded; routes for
+ * keys beyond the bound are created on every call.
+ *
+ * <p>
+ * Instances are thread safe.
+ *
+ * @param <K> the type of the route key.
+ * @param <R> the type of the outbound route.
+ */
+public final class OutboundRouteInterner<K, R extends OutboundRoute<?>> {
+    /**
+     * The default maximum number of interned routes.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /**
+     * The interned routes.
+     */
+    private final ConcurrentMap<K, R> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the route for a key.
+     */
+    @NonNull
+    private final Function<? super K, ? extends R> factory;
+
+    /**
+     * The maximum number of interned routes.
+     */
+    private final int maxSize;
+
+    /**
+     * Create an interner bounded to {@link #DEFAULT_MAX_SIZE} routes.
+     *
+     * @param factory creates the route for a key.
+     */
+    public OutboundRouteInterner(
+            @NonNull Function<? super K, ? extends R> factory) {
+        this(factory, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create an interner.
+     *
+     * @param factory creates the route for a key.
+     * @param maxSize the maximum number of interned routes.
+     */
+    public OutboundRouteInterner(
+            @NonNull Function<? super K, ? extends R> factory, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(
+                    "maxSize cannot be negative: " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the canonical route for a key.
+     *
+     * @param key the route key.
+     * @return the canonical route for the key, or a new route if the maximum
+     * number of routes is already interned.
+     */
+    public R intern(@NonNull K key) {
+        R route = routes.get(key);
+        if (route != null) {
+            return route;
+        }
+
+        if (routes.size() >= maxSize) {
+            return factory.apply(key);
+        }
+
+        return routes.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Get the number of interned routes.
+     *
+     * @return the number of interned routes.
+     */
+    public int size() {
+        return routes.size();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.pubsub.PubSubOutboundRoute;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A {@link Router} spreading records across several destinations by the
+ * Aerospike partition of their {@link com.aerospike.client.Key#digest digest}.
+ *
+ * <p>
+ * The 4096 Aerospike partitions are assigned to the destinations with a
+ * consistent hash ring, so adding or removing one of N destinations moves only
+ * about 1/N of the partitions to other destinations. All the records of a key
+ * belong to the same partition and are routed to the same destination, which
+ * keeps the per key order. The assignment is computed when the router is
+ * created, routing a record is a single array lookup.
+ *
+ * <p>
+ * Routers for an outbound destination extend this class to specify how a
+ * destination name is converted to a route, for example
+ * <pre>
+ * public class KafkaPartitionRouter extends PartitionRouter&lt;String&gt; {
+ *     &#64;Inject
+ *     public KafkaPartitionRouter(RouterConfig routerConfig)
+ *             throws Exception {
+ *         super(routerConfig, KafkaOutboundRoute::of);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * A snippet of a config for this router can be
+ * <pre>
+ * routing:
+ *   mode: custom
+ *   class: com.example.KafkaPartitionRouter
+ *   params:
+ *     destinations:
+ *       - topic-a
+ *       - topic-b
+ *       - topic-c
+ *     virtual-nodes: 128 # Optional.
+ * </pre>
+ *
+ * @param <T> the type of the outbound route. Should be a String type for ESP
+ *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
+ *            PubSubOutboundRoute PubSubOutboundRoute} type for Google Pub/Sub.
+ */
+public class PartitionRouter<T> implements Router<T> {
+    /**
+     * The number of Aerospike partitions.
+     */
+    public static final int PARTITIONS = 4096;
+
+    /**
+     * The default number of points of each destination on the hash ring.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    /**
+     * The param with the list of destination names.
+     */
+    public static final String DESTINATIONS_PARAM = "destinations";
+
+    /**
+     * The param with the number of points of each destination on the hash
+     * ring.
+     */
+    public static final String VIRTUAL_NODES_PARAM = "virtual-nodes";
+
+    /**
+     * The route of each partition, indexed by partition id.
+     */
+    @NonNull
+    private final List<OutboundRoute<T>> partitionRoutes;
+
+    /**
+     * Create a router from the {@link #DESTINATIONS_PARAM} and {@link
+     * #VIRTUAL_NODES_PARAM} router config params.
+     *
+     * @param routerConfig the router config.
+     * @param routeFactory converts a destination name to a route.
+     * @throws Exception if the params are invalid.
+     */
+    public PartitionRouter(@NonNull RouterConfig routerConfig,
+                           @NonNull Function<String, ? extends OutboundRoute<T>>
+                                   routeFactory) throws Exception {
+        this(parseDestinations(routerConfig.getParams(), routeFactory),
+                parseVirtualNodes(routerConfig.getParams()));
+    }
+
+    /**
+     * Create a router.
+     *
+     * @param destinations the routes to the destinations. The destinations are
+     *                     identified on the hash ring by their route, so the
+     *                     order of the destinations does not matter.
+     * @param virtualNodes the number of points of each destination on the
+     *                     hash ring.
+     */
+    public PartitionRouter(
+            @NonNull List<? extends OutboundRoute<T>> destinations,
+            int virtualNodes) {
+        if (destinations.isEmpty()) {
+            throw new IllegalArgumentException("destinations cannot be empty");
+        }
+
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException(
+                    "virtual nodes should be positive: " + virtualNodes);
+        }
+
+        this.partitionRoutes = assignPartitions(destinations, virtualNodes);
+    }
+
+    /**
+     * Get the Aerospike partition id of a record digest.
+     *
+     * @param digest the digest of the record key.
+     * @return the partition id in the range [0, {@link #PARTITIONS}).
+     */
+    public static int getPartitionId(@NonNull byte[] digest) {
+        return ((digest[0] & 0xFF) | ((digest[1] & 0xFF) << 8)) &
+                (PARTITIONS - 1);
+    }
+
+    /**
+     * Get the route of an Aerospike partition.
+     *
+     * @param partitionId the partition id.
+     * @return the route of the partition.
+     */
+    public OutboundRoute<T> getPartitionRoute(int partitionId) {
+        return partitionRoutes.get(partitionId);
+    }
+
+    @Override
+    public OutboundRoute<T> getRoute(@NonNull ChangeNotificationRecord record) {
+        return partitionRoutes.get(
+                getPartitionId(record.getMetadata().getKey().digest));
+    }
+
+    private static <T> List<OutboundRoute<T>> assignPartitions(
+            List<? extends OutboundRoute<T>> destinations, int virtualNodes) {
+        TreeMap<Long, OutboundRoute<T>> ring = new TreeMap<>();
+        Set<String> names = new HashSet<>();
+        for (OutboundRoute<T> destination : destinations) {
+            String name = String.valueOf(destination.getRoute());
+            if (!names.add(name)) {
+                throw new IllegalArgumentException(
+                        "duplicate destination " + name);
+            }
+
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(name + "#" + i), destination);
+            }
+        }
+
+        List<OutboundRoute<T>> routes = new ArrayList<>(PARTITIONS);
+        for (int partitionId = 0; partitionId < PARTITIONS; partitionId++) {
+            Map.Entry<Long, OutboundRoute<T>> owner =
+                    ring.ceilingEntry(mix(partitionId));
+            routes.add(owner != null ? owner.getValue() :
+                    ring.firstEntry().getValue());
+        }
+        return Collections.unmodifiableList(routes);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of the string, mixed.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static <T> List<OutboundRoute<T>> parseDestinations(
+            Map<String, Object> params,
+            Function<String, ? extends OutboundRoute<T>> routeFactory)
+            throws Exception {
+        Object destinations = params.get(DESTINATIONS_PARAM);
+        if (!(destinations instanceof List)) {
+            throw new Exception(DESTINATIONS_PARAM + " param should be a list");
+        }
+
+        List<OutboundRoute<T>> routes = new ArrayList<>();
+        for (Object destination : (List<?>) destinations) {
+            routes.add(routeFactory.apply(String.valueOf(destination)));
+        }
+        return routes;
+    }
+
+    private static int parseVirtualNodes(Map<String, Object> params)
+            throws Exception {
+        Object virtualNodes = params.get(VIRTUAL_NODES_PARAM);
+        if (virtualNodes == null) {
+            return DEFAULT_VIRTUAL_NODES;
+        }
+
+        if (!(virtualNodes instanceof Number)) {
+            throw new Exception(VIRTUAL_NODES_PARAM +
+                    " param should be a number");
+        }
+        return ((Number) virtualNodes).intValue();
+    }
+}
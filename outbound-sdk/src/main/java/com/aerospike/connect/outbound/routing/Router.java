@@ -25,6 +25,9 @@ import lombok.NonNull;
 /**
  * Route records to the outbound destination.
  *
+ * <p>
+ * To dispatch a record to several routes implement {@link MultiRouter}.
+ *
  * @param <T> the type of the outbound route. Should be a String type for ESP
  *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
  *            PubSubOutboundRoute PubSubOutboundRoute} type for Google Pub/Sub.
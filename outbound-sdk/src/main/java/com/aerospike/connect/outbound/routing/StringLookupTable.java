@@ -0,0 +1,155 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.util.Map;
+
+/**
+ * An immutable lookup table from String keys to values compiled from a map.
+ *
+ * <p>
+ * The table searches for a hash seed which gives every key a slot of its own,
+ * so that a lookup is a single probe followed by a key comparison. The slot is
+ * derived from the cached {@link String#hashCode()} of the key. If no such
+ * seed is found, for instance for a large table or for keys with equal hash
+ * codes, collisions are resolved by linear probing.
+ *
+ * @param <V> the type of the values.
+ */
+final class StringLookupTable<V> {
+    /**
+     * The number of seeds tried for each table capacity.
+     */
+    private static final int SEEDS_PER_CAPACITY = 32;
+
+    /**
+     * The maximum growth of the table capacity when searching for a seed.
+     */
+    private static final int MAX_CAPACITY_GROWTH = 16;
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int seed;
+
+    private StringLookupTable(String[] keys, Object[] values, int seed) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.seed = seed;
+    }
+
+    /**
+     * Compile a lookup table.
+     *
+     * @param entries the entries of the table.
+     * @param <V>     the type of the values.
+     * @return the lookup table.
+     */
+    static <V> StringLookupTable<V> compile(
+            @NonNull Map<String, ? extends V> entries) {
+        int minCapacity = capacityFor(entries.size());
+        int maxCapacity = minCapacity * MAX_CAPACITY_GROWTH;
+        for (int capacity = minCapacity; capacity <= maxCapacity;
+             capacity <<= 1) {
+            for (int seed = 0; seed < SEEDS_PER_CAPACITY; seed++) {
+                StringLookupTable<V> table =
+                        place(entries, capacity, seed, false);
+                if (table != null) {
+                    return table;
+                }
+            }
+        }
+
+        return place(entries, minCapacity, 0, true);
+    }
+
+    /**
+     * Get the value for a key.
+     *
+     * @param key the key.
+     * @return the value for the key, <code>null</code> if absent.
+     */
+    @Nullable
+    V get(@NonNull String key) {
+        int index = hash(key, seed) & mask;
+        while (true) {
+            String candidate = keys[index];
+            if (candidate == null) {
+                return null;
+            }
+
+            if (candidate.equals(key)) {
+                @SuppressWarnings("unchecked") V value = (V) values[index];
+                return value;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Place the entries in a table.
+     *
+     * @return the table, <code>null</code> if two keys collide and probing is
+     * not allowed.
+     */
+    @Nullable
+    private static <V> StringLookupTable<V> place(
+            Map<String, ? extends V> entries, int capacity, int seed,
+            boolean probe) {
+        String[] keys = new String[capacity];
+        Object[] values = new Object[capacity];
+        int mask = capacity - 1;
+        for (Map.Entry<String, ? extends V> entry : entries.entrySet()) {
+            int index = hash(entry.getKey(), seed) & mask;
+            while (keys[index] != null) {
+                if (!probe) {
+                    return null;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+        }
+        return new StringLookupTable<>(keys, values, seed);
+    }
+
+    /**
+     * Get the smallest power of two capacity leaving at least half of the
+     * slots empty.
+     */
+    private static int capacityFor(int size) {
+        return Integer.highestOneBit(Math.max(2, size * 2) - 1) << 1;
+    }
+
+    /**
+     * Mix the cached {@link String#hashCode()} of the key with the seed, so
+     * that a lookup does not scan the characters of the key.
+     */
+    private static int hash(String key, int seed) {
+        int hash = key.hashCode() ^ (seed * 0x9E3779B9);
+        hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+}
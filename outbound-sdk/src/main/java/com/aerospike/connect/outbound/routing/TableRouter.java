@@ -0,0 +1,286 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.routing;
+
+import com.aerospike.client.Key;
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.config.DynamicFieldSource;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceBinValue;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceFailureStrategy;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceNamespace;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceSet;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceStatic;
+import com.aerospike.connect.outbound.config.DynamicFieldSourceUserKey;
+import com.aerospike.connect.outbound.pubsub.PubSubOutboundRoute;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import lombok.NonNull;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A table driven {@link Router} mapping a value computed from the record, like
+ * its set name or a bin value, to a route.
+ *
+ * <p>
+ * The routing table is compiled when the router is created, routing a record
+ * is a single probe of the compiled table. Routers for an outbound destination
+ * extend this class to specify how a destination name is converted to a
+ * route, for example
+ * <pre>
+ * public class KafkaSetRouter extends TableRouter&lt;String&gt; {
+ *     &#64;Inject
+ *     public KafkaSetRouter(RouterConfig routerConfig) throws Exception {
+ *         super(routerConfig, KafkaOutboundRoute::of);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * A snippet of a config for this router can be
+ * <pre>
+ * routing:
+ *   mode: custom
+ *   class: com.example.KafkaSetRouter
+ *   params:
+ *     source:
+ *       source: set
+ *     routes:
+ *       users: users-topic
+ *       orders: orders-topic
+ *     default-route: others-topic
+ * </pre>
+ *
+ * <p>
+ * The {@code source} is one of the {@link DynamicFieldSourceNamespace
+ * namespace}, {@link DynamicFieldSourceSet set}, {@link
+ * DynamicFieldSourceBinValue bin-value}, {@link DynamicFieldSourceUserKey
+ * user-key} or {@link DynamicFieldSourceStatic static} dynamic field sources.
+ * Records whose value is not in {@code routes} are routed to the optional
+ * {@code default-route}. Records whose value cannot be computed are routed by
+ * their Base64 encoded digest if the source has the {@link
+ * DynamicFieldSourceFailureStrategy#USE_DIGEST use-digest} failure strategy,
+ * and fail with a temporary error if it has the {@link
+ * DynamicFieldSourceFailureStrategy#FAIL fail} failure strategy. The {@link
+ * DynamicFieldSourceFailureStrategy#IGNORE ignore} failure strategy is not
+ * supported by this router.
+ *
+ * @param <T> the type of the outbound route. Should be a String type for ESP
+ *            (Event Stream Processing), JMS, Kafka, Pulsar routes; and a {@link
+ *            PubSubOutboundRoute PubSubOutboundRoute} type for Google Pub/Sub.
+ */
+public class TableRouter<T> implements Router<T> {
+    /**
+     * The param with the {@link DynamicFieldSource} of the routed value.
+     */
+    public static final String SOURCE_PARAM = "source";
+
+    /**
+     * The param with the map of value to destination name.
+     */
+    public static final String ROUTES_PARAM = "routes";
+
+    /**
+     * The param with the destination name of records not in the routes.
+     */
+    public static final String DEFAULT_ROUTE_PARAM = "default-route";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Computes the routed value of a record, <code>null</code> if it cannot be
+     * computed.
+     */
+    @NonNull
+    private final Function<ChangeNotificationRecord, String> valueExtractor;
+
+    /**
+     * How to route records whose value cannot be computed, <code>null</code>
+     * if the value is always available.
+     */
+    @Nullable
+    private final DynamicFieldSourceFailureStrategy failureStrategy;
+
+    /**
+     * The compiled routing table.
+     */
+    @NonNull
+    private final StringLookupTable<OutboundRoute<T>> table;
+
+    /**
+     * The route of records not in the routing table.
+     */
+    @Nullable
+    private final OutboundRoute<T> defaultRoute;
+
+    /**
+     * Create a router from the {@link #SOURCE_PARAM}, {@link #ROUTES_PARAM} and
+     * {@link #DEFAULT_ROUTE_PARAM} router config params.
+     *
+     * @param routerConfig the router config.
+     * @param routeFactory converts a destination name to a route.
+     * @throws Exception if the params are invalid.
+     */
+    public TableRouter(@NonNull RouterConfig routerConfig,
+                       @NonNull Function<String, ? extends OutboundRoute<T>>
+                               routeFactory) throws Exception {
+        this(parseSource(routerConfig.getParams()),
+                parseRoutes(routerConfig.getParams(), routeFactory),
+                parseDefaultRoute(routerConfig.getParams(), routeFactory));
+    }
+
+    /**
+     * Create a router.
+     *
+     * @param source       the source of the routed value.
+     * @param routes       the map of value to route.
+     * @param defaultRoute the route of records whose value is not in {@code
+     *                     routes}.
+     * @throws Exception if the source or its failure strategy is not
+     *                   supported.
+     */
+    public TableRouter(@NonNull DynamicFieldSource source,
+                       @NonNull Map<String, ? extends OutboundRoute<T>> routes,
+                       @Nullable OutboundRoute<T> defaultRoute)
+            throws Exception {
+        source.validate();
+        this.valueExtractor = valueExtractor(source);
+        this.failureStrategy = failureStrategy(source);
+        this.table = StringLookupTable.compile(routes);
+        this.defaultRoute = defaultRoute;
+    }
+
+    @Override
+    public OutboundRoute<T> getRoute(@NonNull ChangeNotificationRecord record)
+            throws Exception {
+        String value = valueExtractor.apply(record);
+        if (value == null && failureStrategy != null) {
+            Key key = record.getMetadata().getKey();
+            if (failureStrategy == DynamicFieldSourceFailureStrategy.FAIL) {
+                throw new Exception("cannot compute route of record " + key);
+            }
+            value = Base64.getEncoder().encodeToString(key.digest);
+        }
+
+        OutboundRoute<T> route = value != null ? table.get(value) : null;
+        if (route != null) {
+            return route;
+        }
+
+        if (defaultRoute != null) {
+            return defaultRoute;
+        }
+
+        throw new Exception(String.format("no route for value %s of record %s",
+                value, record.getMetadata().getKey()));
+    }
+
+    private static Function<ChangeNotificationRecord, String> valueExtractor(
+            DynamicFieldSource source) throws Exception {
+        if (source instanceof DynamicFieldSourceNamespace) {
+            return record -> record.getMetadata().getKey().namespace;
+        }
+
+        if (source instanceof DynamicFieldSourceSet) {
+            return record -> record.getMetadata().getKey().setName;
+        }
+
+        if (source instanceof DynamicFieldSourceBinValue) {
+            String binName = ((DynamicFieldSourceBinValue) source).getBinName();
+            return record -> {
+                Object value = record.getBins().get(binName);
+                return value != null ? value.toString() : null;
+            };
+        }
+
+        if (source instanceof DynamicFieldSourceUserKey) {
+            return record -> {
+                Key key = record.getMetadata().getKey();
+                return key.userKey != null && key.userKey.getObject() != null ?
+                        key.userKey.getObject().toString() : null;
+            };
+        }
+
+        if (source instanceof DynamicFieldSourceStatic) {
+            String value = ((DynamicFieldSourceStatic) source).getValue();
+            return record -> value;
+        }
+
+        throw new Exception("unsupported routing source " +
+                source.getClass().getSimpleName());
+    }
+
+    @Nullable
+    private static DynamicFieldSourceFailureStrategy failureStrategy(
+            DynamicFieldSource source) throws Exception {
+        DynamicFieldSourceFailureStrategy failureStrategy;
+        try {
+            failureStrategy = source.getDynamicFieldSourceFailureStrategy();
+        } catch (Exception e) {
+            // The value is always available.
+            return null;
+        }
+
+        if (failureStrategy == DynamicFieldSourceFailureStrategy.IGNORE) {
+            throw new Exception("failure-strategy " + failureStrategy +
+                    " is not supported by routing source " +
+                    source.getClass().getSimpleName() +
+                    ", use use-digest or fail");
+        }
+        return failureStrategy;
+    }
+
+    private static DynamicFieldSource parseSource(Map<String, Object> params)
+            throws Exception {
+        Object source = params.get(SOURCE_PARAM);
+        if (source == null) {
+            throw new Exception(SOURCE_PARAM + " param is missing");
+        }
+        return objectMapper.convertValue(source, DynamicFieldSource.class);
+    }
+
+    private static <T> Map<String, OutboundRoute<T>> parseRoutes(
+            Map<String, Object> params,
+            Function<String, ? extends OutboundRoute<T>> routeFactory)
+            throws Exception {
+        Object routes = params.get(ROUTES_PARAM);
+        if (!(routes instanceof Map)) {
+            throw new Exception(ROUTES_PARAM + " param should be a map");
+        }
+
+        Map<String, OutboundRoute<T>> parsed = new HashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) routes).entrySet()) {
+            parsed.put(String.valueOf(entry.getKey()),
+                    routeFactory.apply(String.valueOf(entry.getValue())));
+        }
+        return parsed;
+    }
+
+    @Nullable
+    private static <T> OutboundRoute<T> parseDefaultRoute(
+            Map<String, Object> params,
+            Function<String, ? extends OutboundRoute<T>> routeFactory) {
+        Object defaultRoute = params.get(DEFAULT_ROUTE_PARAM);
+        return defaultRoute != null ?
+                routeFactory.apply(defaultRoute.toString()) : null;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.transformer;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transform the Aerospike record asynchronously like add bin, delete bin,
+ * modify bin value, modify key, modify metadata (generation, last update time,
+ * expiry).
+ *
+ * <p>
+ * This interface is the asynchronous counterpart of {@link Transformer} for
+ * transformers waiting on I/O, like enriching records with lookups to an
+ * external service. The connector thread is not blocked while the returned
+ * future is pending, so that many records can be transformed concurrently.
+ */
+public interface AsyncTransformer {
+    /**
+     * Transform the Aerospike record asynchronously.
+     *
+     * <p>
+     * The returned future should complete with the transformed record, with
+     * the same semantics as the record returned by {@link
+     * Transformer#transform}. To skip dispatching the change notification
+     * record to the outbound destination complete the future with {@link
+     * SkipChangeNotificationRecord#INSTANCE}.
+     *
+     * <p>
+     * This method is called on a connector thread and should return promptly,
+     * the transformation should be done by the code completing the future.
+     * The future may be completed on any thread.
+     *
+     * <p>
+     * When an exception is thrown by this method or the returned future
+     * completes exceptionally, the record is acknowledged with temporary error
+     * to Aerospike XDR change notification. Aerospike XDR change notification
+     * will resend the change notification record on a temporary error.
+     *
+     * @param record the change notification record.
+     * @return a future completed with the transformed change notification
+     * record.
+     * @throws Exception if failed to start transforming the record. The record
+     *                   is acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    CompletableFuture<ChangeNotificationRecord> transform(
+            @NonNull ChangeNotificationRecord record) throws Exception;
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.transformer;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import com.aerospike.connect.outbound.format.BatchFormatter;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Transform a batch of Aerospike records like add bin, delete bin, modify bin
+ * value, modify key, modify metadata (generation, last update time, expiry).
+ *
+ * <p>
+ * This interface is the batch counterpart of {@link Transformer}, like
+ * {@link BatchFormatter} is of the
+ * {@link com.aerospike.connect.outbound.format.Formatter Formatter}. It
+ * receives all the records of a batch shipped by Aerospike XDR at once, so
+ * that lookups, locks and other per call overheads can be shared by the whole
+ * batch.
+ */
+public interface BatchTransformer {
+    /**
+     * Transform a batch of records.
+     *
+     * <p>
+     * The returned list should contain exactly one {@link TransformResult} for
+     * each of the input records, in the same order as the input records. A
+     * record is skipped with {@link TransformResult#SKIP}, dispatched
+     * unchanged with {@link TransformResult#PASS_THROUGH} or replaced with
+     * {@link TransformResult#modified}. The bins of the transformed records
+     * can contain the same values as described in {@link
+     * Transformer#transform}.
+     *
+     * <p>
+     * When an exception is thrown by this method, all the records in the
+     * batch are acknowledged with temporary error to Aerospike XDR change
+     * notification. Aerospike XDR change notification will resend all the
+     * change notification records in the batch on a temporary error.
+     *
+     * @param records the change notification records in the batch.
+     * @return the verdicts on the change notification records, one per input
+     * record in the same order.
+     * @throws Exception if failed to transform the records. The records are
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    List<TransformResult> transform(
+            @NonNull List<ChangeNotificationRecord> records) throws Exception;
+}
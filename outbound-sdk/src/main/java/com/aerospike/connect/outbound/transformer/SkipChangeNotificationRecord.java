@@ -38,6 +38,13 @@ import java.util.HashMap;
 @EqualsAndHashCode(callSuper = true)
 @ToString
 public class SkipChangeNotificationRecord extends ChangeNotificationRecord {
+    /**
+     * A shared instance which can be returned instead of allocating a new
+     * instance for every skipped record.
+     */
+    public static final SkipChangeNotificationRecord INSTANCE =
+            new SkipChangeNotificationRecord();
+
     public SkipChangeNotificationRecord() {
         super(new ChangeNotificationMetadata(new Key("", "", ""),
                         AerospikeOperation.WRITE, null, null, null,
@@ -0,0 +1,155 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.transformer;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Optional;
+
+/**
+ * The verdict of a {@link VerdictTransformer} on a change notification record.
+ *
+ * <p>
+ * Skipping a record or passing it through unchanged uses the shared {@link
+ * #SKIP} and {@link #PASS_THROUGH} instances and does not allocate.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@Getter
+@ToString
+public final class TransformResult {
+    /**
+     * Skip dispatching the change notification record to the outbound
+     * destination. The change notification record is acknowledged as
+     * successfully handled to Aerospike XDR change notification.
+     */
+    public static final TransformResult SKIP =
+            new TransformResult(Verdict.SKIP, null);
+
+    /**
+     * Dispatch the input change notification record unchanged.
+     */
+    public static final TransformResult PASS_THROUGH =
+            new TransformResult(Verdict.PASS_THROUGH, null);
+
+    /**
+     * @return The verdict on the record.
+     */
+    @NonNull
+    private final Verdict verdict;
+
+    /**
+     * The transformed record, present only for the {@link Verdict#MODIFIED}
+     * verdict.
+     */
+    @Nullable
+    private final ChangeNotificationRecord record;
+
+    /**
+     * Dispatch a transformed change notification record instead of the input
+     * record.
+     *
+     * @param record the transformed record.
+     * @return the result with the {@link Verdict#MODIFIED} verdict.
+     */
+    public static TransformResult modified(
+            @NonNull ChangeNotificationRecord record) {
+        return new TransformResult(Verdict.MODIFIED, record);
+    }
+
+    /**
+     * Get the result of a {@link Transformer} returning a record.
+     *
+     * @param input       the input record of the transformer.
+     * @param transformed the record returned by the transformer.
+     * @return {@link #SKIP} for a {@link SkipChangeNotificationRecord}, {@link
+     * #PASS_THROUGH} if the input record is returned, else a result with the
+     * {@link Verdict#MODIFIED} verdict.
+     */
+    public static TransformResult of(
+            @NonNull ChangeNotificationRecord input,
+            @NonNull ChangeNotificationRecord transformed) {
+        if (transformed instanceof SkipChangeNotificationRecord) {
+            return SKIP;
+        }
+
+        if (transformed == input) {
+            return PASS_THROUGH;
+        }
+
+        return modified(transformed);
+    }
+
+    /**
+     * Get the transformed record. Present only for the {@link
+     * Verdict#MODIFIED} verdict.
+     *
+     * @return the transformed record.
+     */
+    public Optional<ChangeNotificationRecord> getRecord() {
+        return Optional.ofNullable(record);
+    }
+
+    /**
+     * Get the record to dispatch for this result.
+     *
+     * @param input the input record of the transformer.
+     * @return {@link SkipChangeNotificationRecord#INSTANCE} for {@link
+     * Verdict#SKIP}, {@code input} for {@link Verdict#PASS_THROUGH}, else the
+     * transformed record.
+     */
+    public ChangeNotificationRecord apply(
+            @NonNull ChangeNotificationRecord input) {
+        switch (verdict) {
+            case SKIP:
+                return SkipChangeNotificationRecord.INSTANCE;
+            case PASS_THROUGH:
+                return input;
+            default:
+                return record;
+        }
+    }
+
+    /**
+     * The verdict of a transformer on a record.
+     */
+    public enum Verdict {
+        /**
+         * Skip dispatching the record.
+         */
+        SKIP,
+
+        /**
+         * Dispatch the input record unchanged.
+         */
+        PASS_THROUGH,
+
+        /**
+         * Dispatch the transformed record.
+         */
+        MODIFIED
+    }
+}
@@ -40,6 +40,14 @@ public interface Transformer {
      * <p>
      * To skip dispatching the change notification record to the outbound
      * destination return instances of {@link SkipChangeNotificationRecord}.
+     * Transformers skipping or passing through most records can implement
+     * {@link VerdictTransformer} instead to avoid allocating a record.
+     *
+     * <p>
+     * The bins of the input record are unmodifiable. To add, replace or remove
+     * a few bins without copying all of them use the overlay returned by
+     * {@link ChangeNotificationRecord#overlayBins()} as the bins of the
+     * transformed record.
      *
      * <p>
      * When an exception is thrown by this method, the record is acknowledged
@@ -111,4 +119,21 @@ public interface Transformer {
      */
     ChangeNotificationRecord transform(@NonNull ChangeNotificationRecord record)
             throws Exception;
+
+    /**
+     * Transform the Aerospike record and get the verdict on it. The default
+     * implementation derives the verdict from the record returned by {@link
+     * #transform}.
+     *
+     * @param record the change notification record.
+     * @return the verdict on the change notification record.
+     * @throws Exception if failed to transform the record. The record is
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     * @see VerdictTransformer
+     */
+    default TransformResult transformToResult(
+            @NonNull ChangeNotificationRecord record) throws Exception {
+        return TransformResult.of(record, transform(record));
+    }
 }
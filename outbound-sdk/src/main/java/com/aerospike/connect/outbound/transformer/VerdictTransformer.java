@@ -0,0 +1,73 @@
+/*
+ *
+ *  Copyright 2012-2026 Aerospike, Inc.
+ *
+ *  Portions may be licensed to Aerospike, Inc. under one or more contributor
+ *  license agreements WHICH ARE COMPATIBLE WITH THE APACHE LICENSE, VERSION 2.0.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package com.aerospike.connect.outbound.transformer;
+
+import com.aerospike.connect.outbound.ChangeNotificationRecord;
+import lombok.NonNull;
+
+/**
+ * A {@link Transformer} returning a lightweight {@link TransformResult}
+ * verdict instead of a record.
+ *
+ * <p>
+ * Skipping a record with {@link TransformResult#SKIP} or passing it through
+ * unchanged with {@link TransformResult#PASS_THROUGH} does not allocate,
+ * unlike returning a new {@link SkipChangeNotificationRecord}. Transformers
+ * filtering most of the records should prefer this interface.
+ */
+public interface VerdictTransformer extends Transformer {
+    /**
+     * Transform the Aerospike record like add bin, delete bin, modify bin
+     * value, modify key, modify metadata (generation, last update time,
+     * expiry).
+     *
+     * <p>
+     * The bins of a record returned with {@link TransformResult#modified} can
+     * contain the same values as described in {@link Transformer#transform}.
+     *
+     * <p>
+     * When an exception is thrown by this method, the record is acknowledged
+     * with temporary error to Aerospike XDR change notification. Aerospike XDR
+     * change notification will resend the change notification record on a
+     * temporary error.
+     *
+     * @param record the change notification record.
+     * @return the verdict on the change notification record.
+     * @throws Exception if failed to transform the record. The record is
+     *                   acknowledged with temporary error to Aerospike XDR
+     *                   change notification.
+     */
+    @Override
+    TransformResult transformToResult(@NonNull ChangeNotificationRecord record)
+            throws Exception;
+
+    /**
+     * Transform the record by applying the verdict of {@link
+     * #transformToResult}.
+     *
+     * @param record the change notification record.
+     * @return the transformed change notification record.
+     * @throws Exception if failed to transform the record.
+     */
+    @Override
+    default ChangeNotificationRecord transform(
+            @NonNull ChangeNotificationRecord record) throws Exception {
+        return transformToResult(record).apply(record);
+    }
+}